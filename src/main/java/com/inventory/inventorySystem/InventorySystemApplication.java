@@ -2,8 +2,10 @@ package com.inventory.inventorySystem;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class InventorySystemApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,62 @@
+package com.inventory.inventorySystem.aspect;
+
+import com.inventory.inventorySystem.exceptions.ConcurrentUpdateException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runs outside the transactional proxy so that every attempt gets a fresh transaction.
+ * Calls that join an already running transaction are not retried, because the outer
+ * transaction is rolled back anyway.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConflictRetryAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${conflict-retry.max-attempts}")
+    private int maxAttempts;
+
+    @Value("${conflict-retry.backoff-ms}")
+    private long backoffMs;
+
+    @Around("@annotation(com.inventory.inventorySystem.aspect.RetryOnConflict)")
+    public Object retryOnConflict(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        String method = joinPoint.getSignature().toShortString();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException exception) {
+                meterRegistry.counter("conflict_retry.conflicts", "method", method).increment();
+                if (attempt >= maxAttempts) {
+                    throw new ConcurrentUpdateException("The resource was modified by another request, please try again.", exception);
+                }
+                meterRegistry.counter("conflict_retry.retries", "method", method).increment();
+                Thread.sleep(jitteredBackoff(attempt));
+            }
+        }
+    }
+
+    private long jitteredBackoff(int attempt) {
+        long ceiling = backoffMs << (attempt - 1);
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+}
@@ -1,9 +1,11 @@
 package com.inventory.inventorySystem.config;
 
+import com.inventory.inventorySystem.enums.AuthenticationMode;
 import com.inventory.inventorySystem.repository.TokenRepository;
-import com.inventory.inventorySystem.repository.UserRepository;
 import com.inventory.inventorySystem.security.*;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -29,10 +31,19 @@ public class SecurityConfig {
     private final JwtTokenProvider jwtTokenProvider;
     private final CustomUserDetailsService userDetailsService;
     private final TokenRepository tokenRepository;
-    private final UserRepository userRepository;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final MeterRegistry meterRegistry;
+    private final UserChangeEpochs userChangeEpochs;
+    private final AccessTokenDenylist accessTokenDenylist;
     private final CustomAuthenticationEntryPoint customAuthenticationEntryPoint;
     private final CustomAccessDeniedHandler customAccessDeniedHandler;
 
+    @Value("${security.authentication.mode}")
+    private AuthenticationMode authenticationMode;
+
+    @Value("${security.authentication.claims.max-token-age-seconds}")
+    private long claimsMaxTokenAgeSeconds;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -52,7 +63,8 @@ public class SecurityConfig {
 
     @Bean
     public JwtAuthFilter jwtAuthFilter() {
-        return new JwtAuthFilter(jwtTokenProvider, userDetailsService, userRepository);
+        return new JwtAuthFilter(jwtTokenProvider, userDetailsService, verifiedTokenCache, userChangeEpochs, accessTokenDenylist,
+                meterRegistry, authenticationMode, claimsMaxTokenAgeSeconds);
     }
 
     @Bean
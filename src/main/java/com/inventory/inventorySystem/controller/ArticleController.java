@@ -5,7 +5,9 @@ import com.inventory.inventorySystem.dto.OnUpdate;
 import com.inventory.inventorySystem.dto.request.ArticleRequest;
 import com.inventory.inventorySystem.dto.response.ArticleResponse;
 import com.inventory.inventorySystem.dto.response.PaginatedResponse;
+import com.inventory.inventorySystem.enums.CountMode;
 import com.inventory.inventorySystem.service.interfaces.ArticleService;
+import com.inventory.inventorySystem.service.interfaces.StockShardService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -31,6 +33,7 @@ import java.util.UUID;
 public class ArticleController {
 
     private final ArticleService articleService;
+    private final StockShardService stockShardService;
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -54,14 +57,25 @@ public class ArticleController {
         return ResponseEntity.status(HttpStatus.OK).body(articleResponse);
     }
 
+    @PutMapping("/{id}/stock-shards")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Shard article stock",
+            description = "Splits the stock of a contended article across the given number of rows, or merges it back with 0. Requires ADMIN role."
+    )
+    public ResponseEntity<ArticleResponse> shardStock(@PathVariable UUID id, @RequestParam int shards){
+        ArticleResponse articleResponse = stockShardService.shardStock(id, shards);
+        return ResponseEntity.status(HttpStatus.OK).body(articleResponse);
+    }
+
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'CASHIER')")
     @Operation(
             summary = "Get articles",
             description = "Returns a paginated list of articles. Accessible by ADMIN and CASHIER roles."
     )
-    public ResponseEntity<PaginatedResponse<ArticleResponse>> getAllArticles(@RequestParam(required = false) String name, @PageableDefault(page = 0, size = 10, sort = "name", direction = Sort.Direction.ASC) Pageable pageable){
-        PaginatedResponse<ArticleResponse> articleResponse = articleService.getAllArticles(name, pageable);
+    public ResponseEntity<PaginatedResponse<ArticleResponse>> getAllArticles(@RequestParam(required = false) String name, @RequestParam(defaultValue = "EXACT") CountMode count, @PageableDefault(page = 0, size = 10, sort = "name", direction = Sort.Direction.ASC) Pageable pageable){
+        PaginatedResponse<ArticleResponse> articleResponse = articleService.getAllArticles(name, pageable, count);
         return ResponseEntity.status(HttpStatus.OK).body(articleResponse);
     }
 
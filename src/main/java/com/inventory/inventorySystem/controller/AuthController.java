@@ -78,8 +78,8 @@ public class AuthController {
             summary = "Logout user",
             description = "Invalidates the refresh token and clears authentication cookies."
     )
-    public ResponseEntity<Void> logoutUser(@RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader) {
-        authService.logout(authHeader);
+    public ResponseEntity<Void> logoutUser(@RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader, HttpServletRequest request) {
+        authService.logout(authHeader, cookieProvider.getRefreshTokenFromCookie(request).orElse(null));
         ResponseCookie deletedCookie = cookieProvider.getDeletedRefreshTokenCookie();
         return ResponseEntity.status(HttpStatus.NO_CONTENT)
                 .header(HttpHeaders.SET_COOKIE, deletedCookie.toString())
@@ -5,6 +5,7 @@ import com.inventory.inventorySystem.dto.OnUpdate;
 import com.inventory.inventorySystem.dto.request.CategoryRequest;
 import com.inventory.inventorySystem.dto.response.CategoryResponse;
 import com.inventory.inventorySystem.dto.response.PaginatedResponse;
+import com.inventory.inventorySystem.enums.CountMode;
 import com.inventory.inventorySystem.service.interfaces.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -60,8 +61,8 @@ public class CategoryController {
             summary = "Get categories",
             description = "Returns a paginated list of categories. Accessible by ADMIN and CASHIER roles."
     )
-    public ResponseEntity<PaginatedResponse<CategoryResponse>>getAllCategories(@RequestParam(required = false) String name, @PageableDefault(page = 0, size = 10, sort = "name", direction = Sort.Direction.ASC) Pageable pageable) {
-        PaginatedResponse<CategoryResponse> categoryResponse = categoryService.getAllCategories(name, pageable);
+    public ResponseEntity<PaginatedResponse<CategoryResponse>>getAllCategories(@RequestParam(required = false) String name, @RequestParam(defaultValue = "EXACT") CountMode count, @PageableDefault(page = 0, size = 10, sort = "name", direction = Sort.Direction.ASC) Pageable pageable) {
+        PaginatedResponse<CategoryResponse> categoryResponse = categoryService.getAllCategories(name, pageable, count);
         return ResponseEntity.status(HttpStatus.OK).body(categoryResponse);
     }
 
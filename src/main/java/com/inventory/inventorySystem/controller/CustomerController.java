@@ -5,6 +5,7 @@ import com.inventory.inventorySystem.dto.OnUpdate;
 import com.inventory.inventorySystem.dto.request.CustomerRequest;
 import com.inventory.inventorySystem.dto.response.CustomerResponse;
 import com.inventory.inventorySystem.dto.response.PaginatedResponse;
+import com.inventory.inventorySystem.enums.CountMode;
 import com.inventory.inventorySystem.service.interfaces.CustomerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -59,8 +60,8 @@ public class CustomerController {
             summary = "Get customers",
             description = "Returns a paginated list of customers. Accessible by ADMIN and CASHIER roles."
     )
-    public ResponseEntity<PaginatedResponse<CustomerResponse>> getAllCustomers(@RequestParam(required = false) String name, @PageableDefault(page = 0, size = 10, sort = "name", direction = Sort.Direction.ASC) Pageable pageable){
-        PaginatedResponse<CustomerResponse> customerResponse = customerService.getAllCustomers(name, pageable);
+    public ResponseEntity<PaginatedResponse<CustomerResponse>> getAllCustomers(@RequestParam(required = false) String name, @RequestParam(defaultValue = "EXACT") CountMode count, @PageableDefault(page = 0, size = 10, sort = "name", direction = Sort.Direction.ASC) Pageable pageable){
+        PaginatedResponse<CustomerResponse> customerResponse = customerService.getAllCustomers(name, pageable, count);
         return ResponseEntity.status(HttpStatus.OK).body(customerResponse);
     }
 }
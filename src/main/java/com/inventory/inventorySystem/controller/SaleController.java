@@ -1,12 +1,21 @@
 package com.inventory.inventorySystem.controller;
 
+import com.inventory.inventorySystem.dto.OnCreate;
 import com.inventory.inventorySystem.dto.request.SaleRequest;
 import com.inventory.inventorySystem.dto.response.CompleteSaleResponse;
+import com.inventory.inventorySystem.dto.response.CursorPaginatedResponse;
 import com.inventory.inventorySystem.dto.response.PaginatedResponse;
+import com.inventory.inventorySystem.enums.CountMode;
+import com.inventory.inventorySystem.dto.response.SaleBatchResponse;
 import com.inventory.inventorySystem.dto.response.SaleResponse;
+import com.inventory.inventorySystem.service.SaleGroupCommitter;
+import com.inventory.inventorySystem.service.interfaces.IdempotencyService;
+import com.inventory.inventorySystem.service.interfaces.SaleBatchService;
 import com.inventory.inventorySystem.service.interfaces.SaleService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -15,10 +24,13 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
@@ -31,18 +43,40 @@ import java.time.LocalDateTime;
 public class SaleController {
 
     private final SaleService saleService;
+    private final SaleGroupCommitter saleGroupCommitter;
+    private final SaleBatchService saleBatchService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'CASHIER')")
     @Operation(
             summary = "Register sale",
-            description = "Registers a new sale. Accessible by ADMIN and CASHIER roles."
+            description = "Registers a new sale. Retries sent with the same Idempotency-Key header return the original response. Accessible by ADMIN and CASHIER roles."
     )
-    public ResponseEntity<CompleteSaleResponse> registerSale(@RequestBody  SaleRequest saleRequest){
-        CompleteSaleResponse completeSaleResponse = saleService.registerSale(saleRequest);
+    public ResponseEntity<CompleteSaleResponse> registerSale(@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                                             @Validated(OnCreate.class) @RequestBody SaleRequest saleRequest,
+                                                             Authentication authentication){
+        CompleteSaleResponse completeSaleResponse = idempotencyKey != null
+                ? idempotencyService.execute(idempotencyKey, authentication.getName(), "sales", saleRequest,
+                        CompleteSaleResponse.class, () -> saleService.registerSale(saleRequest))
+                : saleGroupCommitter.registerSale(saleRequest);
         return ResponseEntity.status(HttpStatus.CREATED).body(completeSaleResponse);
     }
 
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyRole('ADMIN', 'CASHIER')")
+    @Operation(
+            summary = "Register sales in bulk",
+            description = "Registers up to sales.batch.max-sales sales in chunked transactions and returns the result of each item. With an Idempotency-Key header the batch is registered in one transaction and retries return the original response. Accessible by ADMIN and CASHIER roles."
+    )
+    public ResponseEntity<SaleBatchResponse> registerSales(@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                                           @RequestBody List<SaleRequest> saleRequests,
+                                                           Authentication authentication){
+        SaleBatchResponse saleBatchResponse = idempotencyService.execute(idempotencyKey, authentication.getName(),
+                "sales-batch", saleRequests, SaleBatchResponse.class, () -> saleBatchService.registerSales(saleRequests));
+        return ResponseEntity.status(HttpStatus.OK).body(saleBatchResponse);
+    }
+
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN')")
     @Operation(
@@ -53,8 +87,24 @@ public class SaleController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(required = false) String customerName,
+            @RequestParam(defaultValue = "EXACT") CountMode count,
             @PageableDefault(page = 0, size = 10, sort = "date",direction = Sort.Direction.ASC)Pageable pageable){
-        PaginatedResponse<SaleResponse> saleResponses = saleService.getAllSales(startDate, endDate, customerName, pageable);
+        PaginatedResponse<SaleResponse> saleResponses = saleService.getAllSales(startDate, endDate, customerName, pageable, count);
+        return ResponseEntity.status(HttpStatus.OK).body(saleResponses);
+    }
+
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @Operation(
+            summary = "Get sales by cursor",
+            description = "Returns sales ordered by date using keyset pagination. Pass the returned nextCursor to fetch the following page. Requires ADMIN role."
+    )
+    public ResponseEntity<CursorPaginatedResponse<SaleResponse>> getSalesAfter(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size){
+        CursorPaginatedResponse<SaleResponse> saleResponses = saleService.getSalesAfter(startDate, endDate, cursor, size);
         return ResponseEntity.status(HttpStatus.OK).body(saleResponses);
     }
 }
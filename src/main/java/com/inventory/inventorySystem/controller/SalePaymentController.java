@@ -3,6 +3,7 @@ package com.inventory.inventorySystem.controller;
 import com.inventory.inventorySystem.dto.OnUpdate;
 import com.inventory.inventorySystem.dto.request.SalePaymentRequest;
 import com.inventory.inventorySystem.dto.response.SalePaymentResponse;
+import com.inventory.inventorySystem.service.interfaces.IdempotencyService;
 import com.inventory.inventorySystem.service.interfaces.SalePaymentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -10,6 +11,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -25,15 +27,21 @@ import java.util.UUID;
 public class SalePaymentController {
 
     private final SalePaymentService salePaymentService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping("/{saleId}/payments")
     @PreAuthorize("hasAnyRole('ADMIN', 'CASHIER')")
     @Operation(
             summary = "Register sale payment",
-            description = "Registers a payment for an existing sale. Accessible by ADMIN and CASHIER roles."
+            description = "Registers a payment for an existing sale. Retries sent with the same Idempotency-Key header return the original response. Accessible by ADMIN and CASHIER roles."
     )
-    public ResponseEntity<SalePaymentResponse> addSalePayment(@PathVariable UUID saleId, @RequestBody @Validated(OnUpdate.class) SalePaymentRequest salePaymentRequest){
-        SalePaymentResponse salePaymentResponse = salePaymentService.saveSalePayment(salePaymentRequest, saleId);
+    public ResponseEntity<SalePaymentResponse> addSalePayment(@PathVariable UUID saleId,
+                                                              @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                                              @RequestBody @Validated(OnUpdate.class) SalePaymentRequest salePaymentRequest,
+                                                              Authentication authentication){
+        SalePaymentResponse salePaymentResponse = idempotencyService.execute(idempotencyKey, authentication.getName(),
+                "sale-payments:" + saleId, salePaymentRequest, SalePaymentResponse.class,
+                () -> salePaymentService.saveSalePayment(salePaymentRequest, saleId));
         return ResponseEntity.status(HttpStatus.CREATED).body(salePaymentResponse);
     }
 }
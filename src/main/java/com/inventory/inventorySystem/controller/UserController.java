@@ -3,6 +3,7 @@ package com.inventory.inventorySystem.controller;
 
 import com.inventory.inventorySystem.dto.request.UserRequest;
 import com.inventory.inventorySystem.dto.response.PaginatedResponse;
+import com.inventory.inventorySystem.enums.CountMode;
 import com.inventory.inventorySystem.dto.response.UserResponse;
 import com.inventory.inventorySystem.service.interfaces.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -46,8 +47,8 @@ public class UserController {
             summary = "Get users",
             description = "Returns a paginated list of users. Requires ADMIN role."
     )
-    public ResponseEntity<PaginatedResponse<UserResponse>> getAllUsers(@PageableDefault(page = 0, size = 10, sort = "userName", direction = Sort.Direction.ASC) Pageable pageable){
-        PaginatedResponse<UserResponse> userResponse = userService.getAllUsers(pageable);
+    public ResponseEntity<PaginatedResponse<UserResponse>> getAllUsers(@RequestParam(defaultValue = "EXACT") CountMode count, @PageableDefault(page = 0, size = 10, sort = "userName", direction = Sort.Direction.ASC) Pageable pageable){
+        PaginatedResponse<UserResponse> userResponse = userService.getAllUsers(pageable, count);
         return ResponseEntity.status(HttpStatus.OK).body(userResponse);
     }
 }
@@ -0,0 +1,10 @@
+package com.inventory.inventorySystem.dto.response;
+
+import java.util.List;
+
+public record CursorPaginatedResponse<T>(
+        List<T> content,
+        int pageSize,
+        String nextCursor,
+        boolean hasNext
+) {}
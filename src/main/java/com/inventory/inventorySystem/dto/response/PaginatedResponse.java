@@ -1,17 +1,24 @@
 package com.inventory.inventorySystem.dto.response;
 
+import com.inventory.inventorySystem.enums.CountMode;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
+/**
+ * totalElements and totalPages are null when the listing was requested without a count.
+ */
 public record PaginatedResponse<T>(
         List<T> content,
         int pageNumber,
         int pageSize,
-        long totalElements,
-        int totalPages,
+        Long totalElements,
+        Integer totalPages,
         boolean isFirst,
-        boolean isLast
+        boolean isLast,
+        boolean hasNext,
+        CountMode countMode
 ) {
     public PaginatedResponse(Page<T> page) {
         this(
@@ -21,7 +28,23 @@ public record PaginatedResponse<T>(
                 page.getTotalElements(),
                 page.getTotalPages(),
                 page.isFirst(),
-                page.isLast()
+                page.isLast(),
+                page.hasNext(),
+                CountMode.EXACT
+        );
+    }
+
+    public PaginatedResponse(Slice<T> slice, Long totalElements, CountMode countMode) {
+        this(
+                slice.getContent(),
+                slice.getNumber(),
+                slice.getSize(),
+                totalElements,
+                totalElements == null ? null : (int) Math.ceil((double) totalElements / slice.getSize()),
+                slice.isFirst(),
+                slice.isLast(),
+                slice.hasNext(),
+                countMode
         );
     }
 }
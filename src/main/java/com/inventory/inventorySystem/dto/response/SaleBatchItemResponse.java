@@ -0,0 +1,9 @@
+package com.inventory.inventorySystem.dto.response;
+
+import java.util.UUID;
+
+public record SaleBatchItemResponse(
+        int index,
+        UUID saleId,
+        String error
+) {}
@@ -0,0 +1,10 @@
+package com.inventory.inventorySystem.dto.response;
+
+import java.util.List;
+
+public record SaleBatchResponse(
+        int received,
+        int created,
+        int failed,
+        List<SaleBatchItemResponse> results
+) {}
@@ -0,0 +1,7 @@
+package com.inventory.inventorySystem.enums;
+
+public enum BulkInsertStrategy {
+    JDBC_BATCH,
+    COPY,
+    AUTO
+}
@@ -0,0 +1,7 @@
+package com.inventory.inventorySystem.enums;
+
+public enum CountMode {
+    EXACT,
+    NONE,
+    CACHED
+}
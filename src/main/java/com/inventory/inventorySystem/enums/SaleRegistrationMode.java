@@ -0,0 +1,6 @@
+package com.inventory.inventorySystem.enums;
+
+public enum SaleRegistrationMode {
+    JPA,
+    ROUTINE
+}
@@ -2,6 +2,6 @@ package com.inventory.inventorySystem.enums;
 
 public enum SaleStatus {
     PENDING,
-    PAID
+    PAID,
+    EXPIRED
 }
-
@@ -0,0 +1,7 @@
+package com.inventory.inventorySystem.exceptions;
+
+public class IdempotencyKeyReuseException extends RuntimeException {
+    public IdempotencyKeyReuseException() {
+        super("The Idempotency-Key was already used with a different request body");
+    }
+}
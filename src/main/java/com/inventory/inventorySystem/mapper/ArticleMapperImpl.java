@@ -5,15 +5,19 @@ import com.inventory.inventorySystem.dto.response.ArticleResponse;
 import com.inventory.inventorySystem.mapper.interfaces.ArticleMapper;
 import com.inventory.inventorySystem.model.Article;
 import com.inventory.inventorySystem.model.Category;
+import com.inventory.inventorySystem.service.CategoryDictionary;
 import com.inventory.inventorySystem.utils.StringNormalizer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.UUID;
+
 @Component
 @RequiredArgsConstructor
 public class ArticleMapperImpl implements ArticleMapper {
 
     private final StringNormalizer stringNormalizer;
+    private final CategoryDictionary categoryDictionary;
 
     @Override
     public Article toEntity(ArticleRequest articleRequest, Category category) {
@@ -30,21 +34,26 @@ public class ArticleMapperImpl implements ArticleMapper {
         return article;
     }
 
+    /**
+     * The category name comes from the in-memory dictionary; reading the id does not initialize the lazy proxy.
+     */
     @Override
     public ArticleResponse toDto(Article article) {
+        UUID categoryId = article.getCategory().getId();
+        CategoryDictionary.CategoryEntry category = categoryDictionary.find(categoryId);
         return new ArticleResponse(
                 article.getId(),
                 article.getName(),
                 article.getUnitPrice(),
-                article.getStock(),
+                article.getAvailableStock(),
                 article.getDescription(),
                 article.getUnitOfMeasurement(),
                 article.getCreationDate(),
                 article.getStatus(),
                 article.getImageUrl(),
                 article.getContent(),
-                article.getCategory().getId(),
-                article.getCategory().getName()
+                categoryId,
+                category != null ? category.name() : article.getCategory().getName()
         );
     }
 
@@ -6,6 +6,7 @@ import com.inventory.inventorySystem.mapper.interfaces.SaleDetailMapper;
 import com.inventory.inventorySystem.model.Article;
 import com.inventory.inventorySystem.model.Sale;
 import com.inventory.inventorySystem.model.SaleDetail;
+import com.inventory.inventorySystem.service.ArticleNearCache.ArticleSnapshot;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -24,6 +25,33 @@ public class SaleDetailMapperImpl implements SaleDetailMapper {
         return saleDetail;
     }
 
+    /**
+     * Prices the line with the given unit price; the article is only referenced, never loaded.
+     */
+    @Override
+    public SaleDetail toEntity(SaleDetailRequest saleDetailRequest, BigDecimal unitPrice, Article articleReference, Sale sale) {
+        var saleDetail = new SaleDetail();
+        saleDetail.setQuantity(saleDetailRequest.quantity());
+        saleDetail.setUnitPrice(unitPrice);
+        saleDetail.setSubtotal(unitPrice.multiply(BigDecimal.valueOf(saleDetailRequest.quantity())));
+        saleDetail.setArticle(articleReference);
+        saleDetail.setSale(sale);
+        return saleDetail;
+    }
+
+    @Override
+    public SaleDetailResponse toDto(SaleDetail saleDetail, ArticleSnapshot snapshot) {
+        return new SaleDetailResponse(
+                saleDetail.getId(),
+                saleDetail.getQuantity(),
+                saleDetail.getUnitPrice(),
+                saleDetail.getSubtotal(),
+                saleDetail.getSale().getId(),
+                snapshot.id(),
+                snapshot.name()
+        );
+    }
+
     @Override
     public SaleDetailResponse toDto(SaleDetail saleDetail) {
         return new SaleDetailResponse(
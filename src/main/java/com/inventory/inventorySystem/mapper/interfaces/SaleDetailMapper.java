@@ -5,8 +5,13 @@ import com.inventory.inventorySystem.dto.response.SaleDetailResponse;
 import com.inventory.inventorySystem.model.Article;
 import com.inventory.inventorySystem.model.Sale;
 import com.inventory.inventorySystem.model.SaleDetail;
+import com.inventory.inventorySystem.service.ArticleNearCache.ArticleSnapshot;
+
+import java.math.BigDecimal;
 
 public interface SaleDetailMapper {
     SaleDetailResponse toDto(SaleDetail saleDetail);
     SaleDetail toEntity(SaleDetailRequest saleDetailRequest, Article article, Sale sale);
+    SaleDetail toEntity(SaleDetailRequest saleDetailRequest, BigDecimal unitPrice, Article articleReference, Sale sale);
+    SaleDetailResponse toDto(SaleDetail saleDetail, ArticleSnapshot snapshot);
 }
@@ -6,6 +6,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Formula;
 import org.hibernate.annotations.UuidGenerator;
 
 import java.math.BigDecimal;
@@ -33,6 +34,9 @@ public class Article{
     @Column(name = "stock", nullable = false)
     private Integer stock;
 
+    @Formula("(SELECT COALESCE(SUM(s.stock), 0) FROM article_stock_shards s WHERE s.id_article = id_article)")
+    private Integer shardedStock;
+
     @Column(name = "description")
     private String description;
 
@@ -52,7 +56,18 @@ public class Article{
     @Column(name = "content", nullable = false, precision = 10, scale = 2)
     private BigDecimal content;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "id_category", nullable = false)
     private Category category;
+
+    /**
+     * Stock of the article row plus the stock split across its shards.
+     */
+    public int getAvailableStock() {
+        return stock + (shardedStock == null ? 0 : shardedStock);
+    }
 }
@@ -25,8 +25,8 @@ public class Token {
     @Column(name = "id_token", nullable = false, updatable = false)
     private UUID id;
 
-    @Column(name = "token", nullable = false, unique = true, columnDefinition = "TEXT")
-    private String refreshToken;
+    @Column(name = "token_hash", nullable = false, unique = true, length = 32)
+    private byte[] refreshTokenHash;
 
     @JdbcTypeCode(SqlTypes.NAMED_ENUM)
     @Column(name = "token_type", nullable = false)
@@ -42,7 +42,10 @@ public class Token {
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
-    @OneToOne(fetch = FetchType.LAZY, optional = false)
-    @JoinColumn(name = "id_user", nullable = false, unique = true)
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "id_user", nullable = false)
     private User user;
 }
@@ -3,12 +3,23 @@ package com.inventory.inventorySystem.repository;
 import com.inventory.inventorySystem.model.Article;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.UUID;
 
 @Repository
-public interface ArticleRepository extends JpaRepository<Article, UUID> {
+public interface ArticleRepository extends JpaRepository<Article, UUID>, ArticleRepositoryCustom {
     Page<Article> findByName(String name, Pageable pageable);
+    Slice<Article> findSliceByName(String name, Pageable pageable);
+    Slice<Article> findSliceBy(Pageable pageable);
+    long countByName(String name);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Article a SET a.stock = a.stock - :delta, a.version = a.version + 1 WHERE a.id = :id")
+    int applyStockDelta(@Param("id") UUID id, @Param("delta") int delta);
 }
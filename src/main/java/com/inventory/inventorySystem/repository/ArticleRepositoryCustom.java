@@ -0,0 +1,15 @@
+package com.inventory.inventorySystem.repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.UUID;
+
+public interface ArticleRepositoryCustom {
+    int[] decreaseStockInBatch(SortedMap<UUID, Integer> quantities);
+    int increaseStockInBatch(SortedMap<UUID, Integer> quantities);
+    void lockStockInBatch(SortedSet<UUID> articleIds);
+    Map<UUID, BigDecimal> findUnitPrices(Collection<UUID> articleIds);
+}
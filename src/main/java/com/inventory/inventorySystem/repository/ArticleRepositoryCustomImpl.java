@@ -0,0 +1,107 @@
+package com.inventory.inventorySystem.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class ArticleRepositoryCustomImpl implements ArticleRepositoryCustom {
+
+    private static final String DECREASE_STOCK_SQL =
+            "UPDATE articles SET stock = stock - ?, version = version + 1 WHERE id_article = ? AND stock >= ?";
+
+    private static final String INCREASE_STOCK_SQL =
+            "WITH v AS (SELECT * FROM unnest(?::uuid[], ?::int[]) AS v(id_article, quantity)), " +
+            "locked AS (SELECT id_article FROM articles WHERE id_article IN (SELECT id_article FROM v) " +
+            "ORDER BY id_article FOR UPDATE) " +
+            "UPDATE articles a SET stock = a.stock + v.quantity, version = a.version + 1 " +
+            "FROM v JOIN locked l ON l.id_article = v.id_article " +
+            "WHERE a.id_article = v.id_article";
+
+    private static final String LOCK_STOCK_SQL =
+            "SELECT id_article FROM articles WHERE id_article = ANY(?) ORDER BY id_article FOR UPDATE";
+
+    private static final String FIND_UNIT_PRICES_SQL =
+            "SELECT id_article, unit_price FROM articles WHERE id_article = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Applies every decrement in a single JDBC batch. Each statement is the guarded conditional update, so the
+     * stock check and the decrement succeed or fail together without a pessimistic lock. Statements run in the
+     * map's key order, so concurrent baskets always lock the article rows in the same sequence.
+     * Each element of the result is the affected row count of the matching entry (0 = rejected).
+     */
+    @Override
+    public int[] decreaseStockInBatch(SortedMap<UUID, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return new int[0];
+        }
+        var entries = new ArrayList<Map.Entry<UUID, Integer>>(quantities.entrySet());
+        return jdbcTemplate.batchUpdate(DECREASE_STOCK_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setInt(1, entry.getValue());
+            ps.setObject(2, entry.getKey());
+            ps.setInt(3, entry.getValue());
+        })[0];
+    }
+
+    /**
+     * Raises the stock of every article with one set-based statement. The rows are locked first in ascending id
+     * order, like the sale paths, because the join of the UPDATE itself would lock them in hash order and could
+     * deadlock with a concurrent sale. Returns the number of updated articles.
+     */
+    @Override
+    public int increaseStockInBatch(SortedMap<UUID, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return 0;
+        }
+        UUID[] ids = quantities.keySet().toArray(UUID[]::new);
+        Integer[] amounts = quantities.values().toArray(Integer[]::new);
+        return jdbcTemplate.update(INCREASE_STOCK_SQL, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids));
+            ps.setArray(2, ps.getConnection().createArrayOf("integer", amounts));
+        });
+    }
+
+    /**
+     * Locks the article rows with one statement; PostgreSQL sorts before locking, so the rows are taken in
+     * ascending id order. Unknown ids are ignored.
+     */
+    @Override
+    public void lockStockInBatch(SortedSet<UUID> articleIds) {
+        if (articleIds.isEmpty()) {
+            return;
+        }
+        UUID[] ids = articleIds.toArray(UUID[]::new);
+        jdbcTemplate.query(LOCK_STOCK_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids)),
+                (rs, rowNum) -> rs.getObject(1, UUID.class));
+    }
+
+    /**
+     * Reads the current unit prices straight from the article rows. Called after the stock of the articles has
+     * been withdrawn, so a concurrent price edit of a locked row waits for the sale to commit.
+     */
+    @Override
+    public Map<UUID, BigDecimal> findUnitPrices(Collection<UUID> articleIds) {
+        var prices = new HashMap<UUID, BigDecimal>();
+        if (articleIds.isEmpty()) {
+            return prices;
+        }
+        UUID[] ids = articleIds.toArray(UUID[]::new);
+        jdbcTemplate.query(FIND_UNIT_PRICES_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids)),
+                rs -> {
+                    prices.put(rs.getObject(1, UUID.class), rs.getBigDecimal(2));
+                });
+        return prices;
+    }
+}
@@ -0,0 +1,151 @@
+package com.inventory.inventorySystem.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Stock rows of articles whose stock is split across {@code article_stock_shards}.
+ * Every method must run inside a transaction. Whenever both are locked, the article row is taken first,
+ * then shards in ascending order; callers resolve one article completely before moving to the next.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ArticleStockShardRepository {
+
+    private static final String TAKE_FROM_RANDOM_SHARD_SQL =
+            "UPDATE article_stock_shards s SET stock = s.stock - ? " +
+            "WHERE s.id_article = ? AND s.stock >= ? AND s.shard = (" +
+            "SELECT shard FROM article_stock_shards WHERE id_article = ? AND stock >= ? " +
+            "ORDER BY random() LIMIT 1 FOR UPDATE%s)";
+
+    private static final String LOCK_ARTICLE_SQL = "SELECT stock FROM articles WHERE id_article = ? FOR UPDATE";
+    private static final String LOCK_SHARDS_SQL =
+            "SELECT stock FROM article_stock_shards WHERE id_article = ? ORDER BY shard FOR UPDATE";
+    private static final String SET_ARTICLE_STOCK_SQL =
+            "UPDATE articles SET stock = ?, version = version + 1 WHERE id_article = ?";
+    private static final String SET_SHARD_STOCK_SQL =
+            "UPDATE article_stock_shards SET stock = ? WHERE id_article = ? AND shard = ?";
+    private static final String DELETE_SHARDS_SQL = "DELETE FROM article_stock_shards WHERE id_article = ?";
+    private static final String INSERT_SHARD_SQL =
+            "INSERT INTO article_stock_shards (id_article, shard, stock) VALUES (?, ?, ?)";
+    private static final String FIND_SHARDED_ARTICLES_SQL = "SELECT DISTINCT id_article FROM article_stock_shards";
+    private static final String FIND_SHARDED_AMONG_SQL =
+            "SELECT DISTINCT id_article FROM article_stock_shards WHERE id_article = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Takes the quantity from a random shard that can cover it, skipping shards locked by other sales and
+     * only then waiting for one. If no single shard is enough, the quantity is gathered from the article row
+     * and all of its shards. Returns false if the article has no shards or not enough stock.
+     */
+    public boolean decreaseStock(UUID articleId, int quantity) {
+        if (takeFromRandomShard(articleId, quantity, " SKIP LOCKED") || takeFromRandomShard(articleId, quantity, "")) {
+            return true;
+        }
+
+        Integer articleStock = lockArticle(articleId);
+        List<Integer> shards = lockShards(articleId);
+        if (articleStock == null || shards.isEmpty()
+                || articleStock + shards.stream().mapToInt(Integer::intValue).sum() < quantity) {
+            return false;
+        }
+
+        int remaining = quantity;
+        int takenFromArticle = Math.min(articleStock, remaining);
+        if (takenFromArticle > 0) {
+            jdbcTemplate.update(SET_ARTICLE_STOCK_SQL, articleStock - takenFromArticle, articleId);
+            remaining -= takenFromArticle;
+        }
+        for (int shard = 0; shard < shards.size() && remaining > 0; shard++) {
+            int taken = Math.min(shards.get(shard), remaining);
+            if (taken > 0) {
+                jdbcTemplate.update(SET_SHARD_STOCK_SQL, shards.get(shard) - taken, articleId, shard);
+                remaining -= taken;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the stock of the article row and of each shard, in that order, after locking them.
+     * An empty list means the article does not exist.
+     */
+    public List<Integer> lockStock(UUID articleId) {
+        Integer articleStock = lockArticle(articleId);
+        if (articleStock == null) {
+            return List.of();
+        }
+        var stock = new ArrayList<Integer>();
+        stock.add(articleStock);
+        stock.addAll(lockShards(articleId));
+        return stock;
+    }
+
+    /**
+     * Moves the whole stock to {@code shardCount} evenly filled shards, or back to the article row when zero.
+     */
+    public void reshard(UUID articleId, int totalStock, int shardCount) {
+        jdbcTemplate.update(DELETE_SHARDS_SQL, articleId);
+        if (shardCount == 0) {
+            jdbcTemplate.update(SET_ARTICLE_STOCK_SQL, totalStock, articleId);
+            return;
+        }
+        jdbcTemplate.update(SET_ARTICLE_STOCK_SQL, 0, articleId);
+        var rows = new ArrayList<Object[]>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            rows.add(new Object[]{articleId, shard, evenShare(totalStock, shardCount, shard)});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SHARD_SQL, rows);
+    }
+
+    /**
+     * Spreads the stock evenly over the existing shards, keeping the shard rows in place.
+     */
+    public void rebalance(UUID articleId, int totalStock, int shardCount) {
+        jdbcTemplate.update(SET_ARTICLE_STOCK_SQL, 0, articleId);
+        var rows = new ArrayList<Object[]>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            rows.add(new Object[]{evenShare(totalStock, shardCount, shard), articleId, shard});
+        }
+        jdbcTemplate.batchUpdate(SET_SHARD_STOCK_SQL, rows);
+    }
+
+    public List<UUID> findShardedArticleIds() {
+        return jdbcTemplate.queryForList(FIND_SHARDED_ARTICLES_SQL, UUID.class);
+    }
+
+    /**
+     * Returns which of the given articles currently have stock shards, without locking anything.
+     */
+    public List<UUID> findShardedArticleIds(Collection<UUID> articleIds) {
+        UUID[] ids = articleIds.toArray(UUID[]::new);
+        return jdbcTemplate.query(FIND_SHARDED_AMONG_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids)),
+                (rs, rowNum) -> rs.getObject(1, UUID.class));
+    }
+
+    private boolean takeFromRandomShard(UUID articleId, int quantity, String lockMode) {
+        return jdbcTemplate.update(TAKE_FROM_RANDOM_SHARD_SQL.formatted(lockMode),
+                quantity, articleId, quantity, articleId, quantity) > 0;
+    }
+
+    private Integer lockArticle(UUID articleId) {
+        List<Integer> stock = jdbcTemplate.queryForList(LOCK_ARTICLE_SQL, Integer.class, articleId);
+        return stock.isEmpty() ? null : stock.get(0);
+    }
+
+    private List<Integer> lockShards(UUID articleId) {
+        return jdbcTemplate.queryForList(LOCK_SHARDS_SQL, Integer.class, articleId);
+    }
+
+    private int evenShare(int totalStock, int shardCount, int shard) {
+        return totalStock / shardCount + (shard < totalStock % shardCount ? 1 : 0);
+    }
+}
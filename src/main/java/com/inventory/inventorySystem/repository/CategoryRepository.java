@@ -3,6 +3,7 @@ package com.inventory.inventorySystem.repository;
 import com.inventory.inventorySystem.model.Category;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,4 +12,7 @@ import java.util.UUID;
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, UUID> {
     Page<Category> findByName(String name, Pageable pageable);
+    Slice<Category> findSliceByName(String name, Pageable pageable);
+    Slice<Category> findSliceBy(Pageable pageable);
+    long countByName(String name);
 }
@@ -3,6 +3,7 @@ package com.inventory.inventorySystem.repository;
 import com.inventory.inventorySystem.model.Customer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,4 +12,7 @@ import java.util.UUID;
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, UUID> {
     Page<Customer> findByName(String name, Pageable pageable);
+    Slice<Customer> findSliceByName(String name, Pageable pageable);
+    Slice<Customer> findSliceBy(Pageable pageable);
+    long countByName(String name);
 }
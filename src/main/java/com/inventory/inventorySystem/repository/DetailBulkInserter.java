@@ -0,0 +1,102 @@
+package com.inventory.inventorySystem.repository;
+
+import com.inventory.inventorySystem.enums.BulkInsertStrategy;
+import com.inventory.inventorySystem.model.PurchaseDetail;
+import com.inventory.inventorySystem.model.SaleDetail;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk insert layer for sale and purchase detail rows. {@code JDBC_BATCH} goes through Hibernate with
+ * ordered, batched inserts; {@code COPY} streams the rows with PostgreSQL {@code COPY ... FROM STDIN};
+ * {@code AUTO} switches to {@code COPY} once a document reaches {@code bulk-insert.copy-threshold} rows.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DetailBulkInserter {
+
+    private static final String COPY_SALE_DETAILS_SQL =
+            "COPY sale_details (id_sale_detail, quantity, unit_price, id_sale, id_article) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String COPY_PURCHASE_DETAILS_SQL =
+            "COPY purchase_details (id_purchase_detail, quantity, unit_price, id_purchase, id_article) FROM STDIN WITH (FORMAT csv)";
+
+    private final SaleDetailRepository saleDetailRepository;
+    private final PurchaseDetailRepository purchaseDetailRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Value("${bulk-insert.copy-threshold}")
+    private int copyThreshold;
+
+    public void insertSaleDetails(List<SaleDetail> details, BulkInsertStrategy strategy) {
+        if (resolve(strategy, details.size()) == BulkInsertStrategy.JDBC_BATCH) {
+            saleDetailRepository.saveAll(details);
+            return;
+        }
+        var rows = new StringBuilder();
+        for (SaleDetail detail : details) {
+            detail.setId(UUID.randomUUID());
+            appendRow(rows, detail.getId(), detail.getQuantity(), detail.getUnitPrice(),
+                    detail.getSale().getId(), detail.getArticle().getId());
+        }
+        copyIn(COPY_SALE_DETAILS_SQL, rows);
+    }
+
+    public void insertPurchaseDetails(List<PurchaseDetail> details, BulkInsertStrategy strategy) {
+        if (resolve(strategy, details.size()) == BulkInsertStrategy.JDBC_BATCH) {
+            purchaseDetailRepository.saveAll(details);
+            return;
+        }
+        var rows = new StringBuilder();
+        for (PurchaseDetail detail : details) {
+            detail.setId(UUID.randomUUID());
+            appendRow(rows, detail.getId(), detail.getQuantity(), detail.getUnitPrice(),
+                    detail.getPurchase().getId(), detail.getArticle().getId());
+        }
+        copyIn(COPY_PURCHASE_DETAILS_SQL, rows);
+    }
+
+    private BulkInsertStrategy resolve(BulkInsertStrategy strategy, int rows) {
+        if (strategy != BulkInsertStrategy.AUTO) {
+            return strategy;
+        }
+        return rows >= copyThreshold ? BulkInsertStrategy.COPY : BulkInsertStrategy.JDBC_BATCH;
+    }
+
+    private void appendRow(StringBuilder rows, Object... values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                rows.append(',');
+            }
+            rows.append(values[i]);
+        }
+        rows.append('\n');
+    }
+
+    /**
+     * COPY bypasses the persistence context, so pending inserts (the parent sale or purchase) are flushed
+     * first and the rows are streamed on the connection bound to the current transaction.
+     */
+    private void copyIn(String sql, StringBuilder rows) {
+        entityManager.flush();
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, new StringReader(rows.toString()));
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        });
+    }
+}
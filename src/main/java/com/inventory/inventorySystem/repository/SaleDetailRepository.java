@@ -1,10 +1,13 @@
 package com.inventory.inventorySystem.repository;
 
 import com.inventory.inventorySystem.model.SaleDetail;
-import org.hibernate.validator.constraints.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.UUID;
+
 @Repository
 public interface SaleDetailRepository extends JpaRepository<SaleDetail, UUID> {
+    List<SaleDetail> findBySaleId(UUID saleId);
 }
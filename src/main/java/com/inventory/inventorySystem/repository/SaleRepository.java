@@ -1,16 +1,71 @@
 package com.inventory.inventorySystem.repository;
 
+import com.inventory.inventorySystem.dto.response.SaleResponse;
 import com.inventory.inventorySystem.model.Sale;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.domain.Page;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface SaleRepository extends JpaRepository<Sale, UUID> {
     Page<Sale> findByDateBetween(LocalDateTime start, LocalDateTime end, Pageable pageable);
     Page<Sale> findByCustomerName(String customerName, Pageable pageable);
+    long countByDateBetween(LocalDateTime start, LocalDateTime end);
+    long countByCustomerName(String customerName);
+
+    String SALE_RESPONSE_SELECT = "SELECT new com.inventory.inventorySystem.dto.response.SaleResponse(" +
+            "s.id, s.date, s.totalSale, s.status, c.id, c.name, u.id, u.fullName) " +
+            "FROM Sale s LEFT JOIN s.customer c JOIN s.user u ";
+
+    // Listing projections: customer and user names come from the same statement instead of lazy loads per row.
+    @Query(value = SALE_RESPONSE_SELECT + "WHERE s.date BETWEEN :start AND :end",
+            countQuery = "SELECT COUNT(s) FROM Sale s WHERE s.date BETWEEN :start AND :end")
+    Page<SaleResponse> findResponsesByDateBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end, Pageable pageable);
+
+    @Query(value = SALE_RESPONSE_SELECT + "WHERE c.name = :customerName",
+            countQuery = "SELECT COUNT(s) FROM Sale s JOIN s.customer c WHERE c.name = :customerName")
+    Page<SaleResponse> findResponsesByCustomerName(@Param("customerName") String customerName, Pageable pageable);
+
+    @Query(value = SALE_RESPONSE_SELECT, countQuery = "SELECT COUNT(s) FROM Sale s")
+    Page<SaleResponse> findAllResponses(Pageable pageable);
+
+    @Query(SALE_RESPONSE_SELECT + "WHERE s.date BETWEEN :start AND :end")
+    Slice<SaleResponse> findResponseSliceByDateBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end, Pageable pageable);
+
+    @Query(SALE_RESPONSE_SELECT + "WHERE c.name = :customerName")
+    Slice<SaleResponse> findResponseSliceByCustomerName(@Param("customerName") String customerName, Pageable pageable);
+
+    @Query(SALE_RESPONSE_SELECT)
+    Slice<SaleResponse> findAllResponseSlice(Pageable pageable);
+
+    @Query(SALE_RESPONSE_SELECT + "WHERE s.date BETWEEN :start AND :end ORDER BY s.date ASC, s.id ASC")
+    List<SaleResponse> findFirstKeysetPage(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end, Pageable pageable);
+
+    @Query(SALE_RESPONSE_SELECT + "WHERE s.date BETWEEN :start AND :end AND (s.date, s.id) > (:date, :id) " +
+            "ORDER BY s.date ASC, s.id ASC")
+    List<SaleResponse> findKeysetPageAfter(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+                                   @Param("date") LocalDateTime date, @Param("id") UUID id, Pageable pageable);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Sale s SET s.amountPaid = s.amountPaid + :amount, s.version = s.version + 1, " +
+            "s.status = CASE WHEN s.amountPaid + :amount >= s.totalSale " +
+            "THEN com.inventory.inventorySystem.enums.SaleStatus.PAID ELSE s.status END " +
+            "WHERE s.id = :id AND s.status = com.inventory.inventorySystem.enums.SaleStatus.PENDING " +
+            "AND s.amountPaid + :amount <= s.totalSale")
+    int registerPayment(@Param("id") UUID id, @Param("amount") BigDecimal amount);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Sale s SET s.status = com.inventory.inventorySystem.enums.SaleStatus.EXPIRED, s.version = s.version + 1 " +
+            "WHERE s.id = :id AND s.status = com.inventory.inventorySystem.enums.SaleStatus.PENDING AND s.amountPaid = 0")
+    int expireSale(@Param("id") UUID id);
 }
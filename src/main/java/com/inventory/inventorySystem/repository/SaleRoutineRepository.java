@@ -0,0 +1,114 @@
+package com.inventory.inventorySystem.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.inventorySystem.dto.request.SaleDetailRequest;
+import com.inventory.inventorySystem.dto.request.SaleRequest;
+import com.inventory.inventorySystem.dto.response.CompleteSaleResponse;
+import com.inventory.inventorySystem.dto.response.SaleDetailResponse;
+import com.inventory.inventorySystem.enums.SaleStatus;
+import com.inventory.inventorySystem.exceptions.ResourceNotFoundException;
+import com.inventory.inventorySystem.exceptions.StockExhaustedException;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Calls the {@code register_sale} database function, which validates the sale, decrements stock and
+ * writes the header and details in a single round trip.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SaleRoutineRepository {
+
+    private static final String REGISTER_SALE_SQL = "SELECT * FROM register_sale(?, ?, ?::jsonb)";
+
+    private static final String INVALID_SALE_STATE = "IN400";
+    private static final String NOT_FOUND_STATE = "IN404";
+    private static final String INSUFFICIENT_STOCK_STATE = "IN409";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public CompleteSaleResponse registerSale(SaleRequest saleRequest) {
+        try {
+            return jdbcTemplate.query(REGISTER_SALE_SQL, this::toResponse,
+                    saleRequest.userId(), saleRequest.customerId(), toLines(saleRequest.details()));
+        } catch (DataAccessException exception) {
+            throw translate(exception);
+        }
+    }
+
+    private String toLines(List<SaleDetailRequest> details) {
+        List<Map<String, Object>> lines = details.stream()
+                .map(detail -> Map.<String, Object>of("articleId", detail.articleId(), "quantity", detail.quantity()))
+                .toList();
+        try {
+            return objectMapper.writeValueAsString(lines);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Unable to serialize sale lines", exception);
+        }
+    }
+
+    private CompleteSaleResponse toResponse(ResultSet rs) throws SQLException {
+        CompleteSaleResponse sale = null;
+        var details = new ArrayList<SaleDetailResponse>();
+        while (rs.next()) {
+            if (sale == null) {
+                sale = new CompleteSaleResponse(
+                        rs.getObject("id_sale", UUID.class),
+                        rs.getTimestamp("sale_date").toLocalDateTime(),
+                        rs.getBigDecimal("total_sale"),
+                        SaleStatus.valueOf(rs.getString("status")),
+                        rs.getObject("id_customer", UUID.class),
+                        rs.getString("customer_name"),
+                        rs.getObject("id_user", UUID.class),
+                        rs.getString("user_name"),
+                        details
+                );
+            }
+            details.add(new SaleDetailResponse(
+                    rs.getObject("id_sale_detail", UUID.class),
+                    rs.getInt("quantity"),
+                    rs.getBigDecimal("unit_price"),
+                    rs.getBigDecimal("subtotal"),
+                    sale.id(),
+                    rs.getObject("id_article", UUID.class),
+                    rs.getString("article_name")
+            ));
+        }
+        return sale;
+    }
+
+    /**
+     * Maps the SQLSTATEs raised by the routine back to the exceptions of the JPA path,
+     * so both modes answer with the same error responses.
+     */
+    private RuntimeException translate(DataAccessException exception) {
+        if (exception.getMostSpecificCause() instanceof PSQLException psqlException
+                && psqlException.getServerErrorMessage() != null) {
+            ServerErrorMessage error = psqlException.getServerErrorMessage();
+            if (INVALID_SALE_STATE.equals(error.getSQLState())) {
+                return new IllegalArgumentException(error.getMessage());
+            }
+            if (NOT_FOUND_STATE.equals(error.getSQLState())) {
+                return new ResourceNotFoundException(error.getMessage(), "id", error.getDetail());
+            }
+            if (INSUFFICIENT_STOCK_STATE.equals(error.getSQLState())) {
+                return new StockExhaustedException(error.getMessage());
+            }
+        }
+        return exception;
+    }
+}
@@ -0,0 +1,18 @@
+package com.inventory.inventorySystem.repository;
+
+import com.inventory.inventorySystem.model.StockReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, UUID> {
+
+    @Modifying
+    @Query("DELETE FROM StockReservation r WHERE r.saleId = :saleId")
+    int deleteBySaleId(@Param("saleId") UUID saleId);
+}
@@ -2,13 +2,38 @@ package com.inventory.inventorySystem.repository;
 
 import com.inventory.inventorySystem.model.Token;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface TokenRepository extends JpaRepository<Token, UUID> {
-    Optional<Token> findByUserId(UUID userId);
-    Optional<Token> findByRefreshToken(String refreshToken);
+    Optional<Token> findByRefreshTokenHash(byte[] refreshTokenHash);
+
+    /**
+     * Rotates the session only if it still holds the presented token, so two concurrent refreshes
+     * with the same token cannot both succeed.
+     */
+    @Modifying
+    @Query("UPDATE Token t SET t.refreshTokenHash = :newHash, t.expiresAt = :expiresAt " +
+            "WHERE t.id = :id AND t.refreshTokenHash = :currentHash AND t.revoked = false")
+    int rotate(@Param("id") UUID id, @Param("currentHash") byte[] currentHash,
+               @Param("newHash") byte[] newHash, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE Token t SET t.revoked = true, t.expired = true, t.expiresAt = :now " +
+            "WHERE t.user.id = :userId AND t.revoked = false")
+    int revokeAllByUserId(@Param("userId") UUID userId, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM tokens WHERE id_token IN " +
+            "(SELECT id_token FROM tokens WHERE expires_at < :now LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
 }
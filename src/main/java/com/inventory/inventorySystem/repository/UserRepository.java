@@ -1,6 +1,8 @@
 package com.inventory.inventorySystem.repository;
 
 import com.inventory.inventorySystem.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,4 +12,5 @@ import java.util.UUID;
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
+    Slice<User> findSliceBy(Pageable pageable);
 }
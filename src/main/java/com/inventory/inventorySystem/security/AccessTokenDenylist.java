@@ -0,0 +1,159 @@
+package com.inventory.inventorySystem.security;
+
+import com.inventory.inventorySystem.model.RevokedAccessToken;
+import com.inventory.inventorySystem.repository.RevokedAccessTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Access tokens revoked before their expiry, keyed by {@code jti}. A Bloom filter answers the common
+ * "not revoked" case without touching the exact set; a filter hit is confirmed against the exact set,
+ * so false positives never reject a valid token. Revocations are persisted and each instance reloads the
+ * live rows at startup and periodically, which is also when expired entries are dropped and the filter
+ * is rebuilt.
+ */
+@Component
+public class AccessTokenDenylist {
+
+    private final RevokedAccessTokenRepository revokedAccessTokenRepository;
+    private final Map<UUID, Long> revoked = new ConcurrentHashMap<>();
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    private final Object writeLock = new Object();
+    private final Counter filterMisses;
+    private final Counter falsePositives;
+    private final Counter revokedHits;
+
+    private volatile BloomFilter filter;
+
+    public AccessTokenDenylist(RevokedAccessTokenRepository revokedAccessTokenRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${security.revocation.expected-entries}") int expectedEntries,
+                               @Value("${security.revocation.false-positive-rate}") double falsePositiveRate) {
+        this.revokedAccessTokenRepository = revokedAccessTokenRepository;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+        this.filterMisses = Counter.builder("security.revocation.checks").tag("result", "absent").register(meterRegistry);
+        this.falsePositives = Counter.builder("security.revocation.checks").tag("result", "false_positive").register(meterRegistry);
+        this.revokedHits = Counter.builder("security.revocation.checks").tag("result", "revoked").register(meterRegistry);
+        meterRegistry.gauge("security.revocation.size", revoked, Map::size);
+    }
+
+    /**
+     * Loads revocations made by other instances, drops entries whose token has expired and rebuilds the filter
+     * from the remaining ones, since a Bloom filter cannot forget single entries.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${security.revocation.reload-interval-ms}", initialDelayString = "${security.revocation.reload-interval-ms}")
+    public void reload() {
+        LocalDateTime now = LocalDateTime.now();
+        revokedAccessTokenRepository.deleteExpired(now);
+        var persisted = revokedAccessTokenRepository.findByExpiresAtAfter(now);
+        long nowMillis = System.currentTimeMillis();
+        synchronized (writeLock) {
+            persisted.forEach(token -> revoked.put(token.getTokenId(), toMillis(token.getExpiresAt())));
+            revoked.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+            var rebuilt = new BloomFilter(Math.max(expectedEntries, revoked.size()), falsePositiveRate);
+            revoked.keySet().forEach(rebuilt::add);
+            filter = rebuilt;
+        }
+    }
+
+    public void revoke(String tokenId, Date expiresAt) {
+        UUID jti = parse(tokenId);
+        if (jti == null || expiresAt.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        revokedAccessTokenRepository.save(new RevokedAccessToken(jti, LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault())));
+        synchronized (writeLock) {
+            revoked.put(jti, expiresAt.getTime());
+            filter.add(jti);
+        }
+    }
+
+    /**
+     * Tokens issued before {@code jti} was added carry no id and cannot be revoked individually.
+     */
+    public boolean isRevoked(String tokenId) {
+        UUID jti = parse(tokenId);
+        if (jti == null || !filter.mightContain(jti)) {
+            filterMisses.increment();
+            return false;
+        }
+        Long expiresAt = revoked.get(jti);
+        if (expiresAt == null || expiresAt <= System.currentTimeMillis()) {
+            falsePositives.increment();
+            return false;
+        }
+        revokedHits.increment();
+        return true;
+    }
+
+    private static UUID parse(String tokenId) {
+        if (tokenId == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(tokenId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Writers are serialized by the denylist's write lock; readers see set bits through the atomic array.
+     * Token ids are random UUIDs, so their two halves are used directly as the base hashes for double hashing.
+     */
+    private static final class BloomFilter {
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+
+        BloomFilter(int expectedEntries, double falsePositiveRate) {
+            long size = (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bits = new AtomicLongArray((int) Math.max(1, (size + 63) / 64));
+            this.bitCount = bits.length() * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedEntries * Math.log(2)));
+        }
+
+        void add(UUID id) {
+            long h1 = id.getMostSignificantBits();
+            long h2 = id.getLeastSignificantBits() | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                bits.set(word, bits.get(word) | (1L << bit));
+            }
+        }
+
+        boolean mightContain(UUID id) {
+            long h1 = id.getMostSignificantBits();
+            long h2 = id.getLeastSignificantBits() | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
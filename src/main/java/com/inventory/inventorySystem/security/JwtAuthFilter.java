@@ -1,32 +1,60 @@
 package com.inventory.inventorySystem.security;
 
-import com.inventory.inventorySystem.model.User;
-import com.inventory.inventorySystem.repository.UserRepository;
+import com.inventory.inventorySystem.enums.AuthenticationMode;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
-    private final UserRepository userRepository;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final UserChangeEpochs userChangeEpochs;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final AuthenticationMode authenticationMode;
+    private final long claimsMaxTokenAgeMillis;
+    private final Timer cachedAuthentication;
+    private final Timer verifiedAuthentication;
+
+    public JwtAuthFilter(JwtTokenProvider jwtTokenProvider,
+                         UserDetailsService userDetailsService,
+                         VerifiedTokenCache verifiedTokenCache,
+                         UserChangeEpochs userChangeEpochs,
+                         AccessTokenDenylist accessTokenDenylist,
+                         MeterRegistry meterRegistry,
+                         AuthenticationMode authenticationMode,
+                         long claimsMaxTokenAgeSeconds) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.userDetailsService = userDetailsService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.userChangeEpochs = userChangeEpochs;
+        this.accessTokenDenylist = accessTokenDenylist;
+        this.authenticationMode = authenticationMode;
+        this.claimsMaxTokenAgeMillis = Duration.ofSeconds(claimsMaxTokenAgeSeconds).toMillis();
+        this.cachedAuthentication = Timer.builder("security.jwt_filter.authentication").tag("cache", "hit").register(meterRegistry);
+        this.verifiedAuthentication = Timer.builder("security.jwt_filter.authentication").tag("cache", "miss").register(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(
@@ -41,14 +69,9 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
 
         final String accessToken = authHeader.substring(7);
-        final String userEmail = jwtTokenProvider.getUsernameFromToken(accessToken);
-
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            User user = userRepository.findByEmail(userEmail)
-                    .orElseThrow(() -> new UsernameNotFoundException("Authentication failed"));
-
-            if (jwtTokenProvider.isAccessTokenValid(accessToken, user)) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = authenticate(accessToken);
+            if (userDetails != null) {
                 var authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -60,4 +83,58 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    /**
+     * A cached token skips both the signature check and the user lookup. Otherwise the token is verified
+     * once and the user is loaded once before caching the principal until the token expires, or in claims mode
+     * until it exceeds the claims max age. Both paths check the in-memory revocation denylist.
+     */
+    private UserDetails authenticate(String accessToken) {
+        long start = System.nanoTime();
+        VerifiedTokenCache.VerifiedToken cached = verifiedTokenCache.get(accessToken);
+        if (cached != null) {
+            if (accessTokenDenylist.isRevoked(cached.tokenId())) {
+                return null;
+            }
+            cachedAuthentication.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return cached.principal();
+        }
+
+        Claims claims = jwtTokenProvider.verifyAccessToken(accessToken);
+        if (claims == null || accessTokenDenylist.isRevoked(claims.getId())) {
+            return null;
+        }
+        UserDetails userDetails;
+        long cacheUntil = claims.getExpiration().getTime();
+        if (authenticationMode == AuthenticationMode.CLAIMS) {
+            userDetails = fromClaims(claims);
+            if (userDetails == null) {
+                return null;
+            }
+            cacheUntil = Math.min(cacheUntil, claims.getIssuedAt().getTime() + claimsMaxTokenAgeMillis);
+        } else {
+            userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+        verifiedTokenCache.put(accessToken, userDetails, claims.getId(), cacheUntil);
+        verifiedAuthentication.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return userDetails;
+    }
+
+    /**
+     * Stateless mode: the principal is built from the signed claims without reading the user. Tokens older than
+     * the claims max age, or issued before the user was last changed on this instance, are refused.
+     */
+    private UserDetails fromClaims(Claims claims) {
+        if (claims.getIssuedAt() == null || claims.getIssuedAt().getTime() < System.currentTimeMillis() - claimsMaxTokenAgeMillis) {
+            return null;
+        }
+        if (userChangeEpochs.isStale(claims.getSubject(), claims.getIssuedAt())) {
+            return null;
+        }
+        return org.springframework.security.core.userdetails.User.builder()
+                .username(claims.getSubject())
+                .password("")
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_" + claims.get("role", String.class))))
+                .build();
+    }
+}
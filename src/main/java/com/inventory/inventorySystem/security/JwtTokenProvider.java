@@ -5,26 +5,59 @@ import com.inventory.inventorySystem.model.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import io.jsonwebtoken.security.SignatureException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-
+import java.util.UUID;
+
+/**
+ * Signing and verification keys are decoded once at startup and the parser is shared, since both are immutable
+ * and thread-safe. Tokens are signed with the current key and carry its id in the {@code kid} header; verification
+ * picks the key by {@code kid}, so tokens signed with a key listed in {@code jwt.previous-keys} stay valid while
+ * a rotation rolls out. Tokens without {@code kid} were issued before rotation support and use the current key.
+ */
 @Component
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret-key}")
-    private String secretKey;
-
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
-
-    @Value("${jwt.refresh-expiration}")
-    private long refreshExpiration;
+    private final long jwtExpiration;
+    private final long refreshExpiration;
+    private final String signingKeyId;
+    private final SecretKey signingKey;
+    private final Map<String, SecretKey> verificationKeys;
+    private final JwtParser parser;
+
+    public JwtTokenProvider(@Value("${jwt.secret-key}") String secretKey,
+                            @Value("${jwt.key-id}") String keyId,
+                            @Value("${jwt.previous-keys:}") String previousKeys,
+                            @Value("${jwt.expiration}") long jwtExpiration,
+                            @Value("${jwt.refresh-expiration}") long refreshExpiration) {
+        this.jwtExpiration = jwtExpiration;
+        this.refreshExpiration = refreshExpiration;
+        this.signingKeyId = keyId;
+        this.signingKey = decodeKey(secretKey);
+
+        var keys = new HashMap<String, SecretKey>();
+        for (String entry : previousKeys.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalStateException("jwt.previous-keys entries must be <kid>:<base64 secret>");
+            }
+            keys.put(entry.substring(0, separator).trim(), decodeKey(entry.substring(separator + 1).trim()));
+        }
+        keys.put(keyId, signingKey);
+        this.verificationKeys = Map.copyOf(keys);
+        this.parser = Jwts.parser()
+                .keyLocator(this::locateKey)
+                .build();
+    }
 
     public String generateAccessToken(final UserResponse user) {
         return buildToken(user, jwtExpiration, "access");
@@ -46,28 +79,15 @@ public class JwtTokenProvider {
         long now = System.currentTimeMillis();
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(user.email())
                 .issuedAt(new Date(now))
                 .expiration(new Date(now + expiration))
-                .signWith(getSignInKey())
+                .header().keyId(signingKeyId).and()
+                .signWith(signingKey)
                 .compact();
     }
 
-    public boolean isAccessTokenValid(String token, User user) {
-        try {
-            Claims claims = extractClaimsFromToken(token);
-            if (!"access".equals(claims.get("type_Token", String.class))) {
-                return false;
-            }
-            return claims.getSubject().equals(user.getEmail()) &&
-                    !claims.getExpiration().before(new Date());
-
-        } catch (ExpiredJwtException | SignatureException | MalformedJwtException |
-                 UnsupportedJwtException | IllegalArgumentException e) {
-            return false;
-        }
-    }
-
     public boolean isRefreshTokenValid(String token, User user) {
         try {
             Claims claims = extractClaimsFromToken(token);
@@ -86,20 +106,36 @@ public class JwtTokenProvider {
         }
     }
 
+    /**
+     * Verifies the signature and expiry once. Returns the claims of an access token, or null for other token types;
+     * an invalid or expired token raises the same exceptions as {@link #getUsernameFromToken(String)}.
+     */
+    public Claims verifyAccessToken(String token) {
+        Claims claims = extractClaimsFromToken(token);
+        return "access".equals(claims.get("type_Token", String.class)) ? claims : null;
+    }
+
     public String getUsernameFromToken(String token) {
         return extractClaimsFromToken(token).getSubject();
     }
 
     private Claims extractClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    private Key locateKey(Header header) {
+        String keyId = header instanceof ProtectedHeader protectedHeader ? protectedHeader.getKeyId() : null;
+        if (keyId == null) {
+            return signingKey;
+        }
+        SecretKey key = verificationKeys.get(keyId);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown signing key id: " + keyId);
+        }
+        return key;
     }
 
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static SecretKey decodeKey(String base64Secret) {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
     }
 }
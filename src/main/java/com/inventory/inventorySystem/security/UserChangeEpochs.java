@@ -0,0 +1,38 @@
+package com.inventory.inventorySystem.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when each user was last changed, so tokens issued before the change can be refused without
+ * reading the user. Entries older than the longest token lifetime can no longer match a valid token and are dropped.
+ */
+@Component
+public class UserChangeEpochs {
+
+    private final Map<String, Long> changedAt = new ConcurrentHashMap<>();
+    private final long retentionMillis;
+
+    public UserChangeEpochs(@Value("${jwt.expiration}") long jwtExpiration) {
+        this.retentionMillis = jwtExpiration;
+    }
+
+    public void markChanged(String username) {
+        long now = System.currentTimeMillis();
+        changedAt.values().removeIf(epoch -> epoch < now - retentionMillis);
+        changedAt.put(username, now);
+    }
+
+    /**
+     * JWT timestamps have second precision, so the change time is truncated the same way;
+     * a token issued in the same second as the change is accepted.
+     */
+    public boolean isStale(String username, Date issuedAt) {
+        Long epoch = changedAt.get(username);
+        return epoch != null && (issuedAt == null || issuedAt.getTime() < epoch / 1000 * 1000);
+    }
+}
@@ -0,0 +1,88 @@
+package com.inventory.inventorySystem.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Access tokens that already passed signature verification, mapped to the principal loaded for them.
+ * Tokens are keyed by their SHA-256 so the raw bearer value is never kept in memory. An entry lives until
+ * the token's {@code exp}, capped at {@code security.token-cache.max-ttl-seconds} so role or status changes
+ * made on another instance are picked up within that bound.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Map<String, VerifiedToken> tokens;
+    private final long maxTtlMillis;
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedTokenCache(MeterRegistry meterRegistry,
+                              @Value("${security.token-cache.max-entries}") int maxEntries,
+                              @Value("${security.token-cache.max-ttl-seconds}") long maxTtlSeconds) {
+        this.maxTtlMillis = Duration.ofSeconds(maxTtlSeconds).toMillis();
+        this.tokens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = Counter.builder("security.token_cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("security.token_cache.requests").tag("result", "miss").register(meterRegistry);
+        meterRegistry.gauge("security.token_cache.size", this, VerifiedTokenCache::size);
+        meterRegistry.gauge("security.token_cache.hit_ratio", this, VerifiedTokenCache::hitRatio);
+    }
+
+    public VerifiedToken get(String token) {
+        String key = hash(token);
+        VerifiedToken verified;
+        synchronized (this) {
+            verified = tokens.get(key);
+            if (verified != null && verified.expiresAt() <= System.currentTimeMillis()) {
+                tokens.remove(key);
+                verified = null;
+            }
+        }
+        (verified != null ? hits : misses).increment();
+        return verified;
+    }
+
+    public void put(String token, UserDetails principal, String tokenId, long tokenExpiresAt) {
+        long expiresAt = Math.min(tokenExpiresAt, System.currentTimeMillis() + maxTtlMillis);
+        String key = hash(token);
+        synchronized (this) {
+            tokens.put(key, new VerifiedToken(principal, tokenId, expiresAt));
+        }
+    }
+
+    /**
+     * Drops every cached token of the user, so the next request reloads its role and status.
+     */
+    public synchronized void evictUser(String username) {
+        tokens.values().removeIf(verified -> verified.principal().getUsername().equals(username));
+    }
+
+    private synchronized int size() {
+        return tokens.size();
+    }
+
+    private double hitRatio() {
+        double requests = hits.count() + misses.count();
+        return requests == 0 ? 0 : hits.count() / requests;
+    }
+
+    private static String hash(String token) {
+        return HexFormat.of().formatHex(TokenDigest.sha256(token));
+    }
+
+    public record VerifiedToken(UserDetails principal, String tokenId, long expiresAt) {
+    }
+}
@@ -0,0 +1,133 @@
+package com.inventory.inventorySystem.service;
+
+import com.inventory.inventorySystem.model.Article;
+import com.inventory.inventorySystem.repository.ArticleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Bounded, TTL-limited snapshots of article price and availability for the sale path. The stock held here
+ * is only a hint for failing fast: the decrement in the database remains the authoritative check.
+ */
+@Component
+public class ArticleNearCache {
+
+    private final ArticleRepository articleRepository;
+    private final long ttlNanos;
+    private final Map<UUID, ArticleSnapshot> snapshots;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+
+    public ArticleNearCache(ArticleRepository articleRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${articles.near-cache.max-entries}") int maxEntries,
+                            @Value("${articles.near-cache.ttl-seconds}") long ttlSeconds) {
+        this.articleRepository = articleRepository;
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        this.hits = Counter.builder("articles.near_cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("articles.near_cache.requests").tag("result", "miss").register(meterRegistry);
+        this.sizeEvictions = Counter.builder("articles.near_cache.evictions").tag("cause", "size").register(meterRegistry);
+        this.expiredEvictions = Counter.builder("articles.near_cache.evictions").tag("cause", "expired").register(meterRegistry);
+        this.snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, ArticleSnapshot> eldest) {
+                if (size() > maxEntries) {
+                    sizeEvictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        meterRegistry.gauge("articles.near_cache.size", this, ArticleNearCache::size);
+        meterRegistry.gauge("articles.near_cache.hit_ratio", this, ArticleNearCache::hitRatio);
+    }
+
+    /**
+     * Returns the snapshots of the requested articles, loading every miss with a single query.
+     * Unknown ids are absent from the result.
+     */
+    public Map<UUID, ArticleSnapshot> getAll(Collection<UUID> ids) {
+        var result = new HashMap<UUID, ArticleSnapshot>();
+        var missing = new ArrayList<UUID>();
+        long now = System.nanoTime();
+        synchronized (this) {
+            for (UUID id : ids) {
+                ArticleSnapshot snapshot = snapshots.get(id);
+                if (snapshot != null && now - snapshot.loadedAt() >= ttlNanos) {
+                    snapshots.remove(id);
+                    expiredEvictions.increment();
+                    snapshot = null;
+                }
+                if (snapshot != null) {
+                    result.put(id, snapshot);
+                } else {
+                    missing.add(id);
+                }
+            }
+        }
+        hits.increment(result.size());
+        misses.increment(missing.size());
+
+        if (!missing.isEmpty()) {
+            List<ArticleSnapshot> loaded = articleRepository.findAllById(missing).stream()
+                    .map(article -> ArticleSnapshot.of(article, System.nanoTime()))
+                    .toList();
+            synchronized (this) {
+                loaded.forEach(snapshot -> snapshots.put(snapshot.id(), snapshot));
+            }
+            loaded.forEach(snapshot -> result.put(snapshot.id(), snapshot));
+        }
+        return result;
+    }
+
+    /**
+     * Drops the snapshot now and again once the surrounding transaction commits, so a concurrent
+     * reader cannot cache the pre-commit row for longer than the transaction.
+     */
+    public void invalidate(UUID id) {
+        remove(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(id);
+                }
+            });
+        }
+    }
+
+    private synchronized void remove(UUID id) {
+        snapshots.remove(id);
+    }
+
+    private synchronized int size() {
+        return snapshots.size();
+    }
+
+    private double hitRatio() {
+        double requests = hits.count() + misses.count();
+        return requests == 0 ? 0 : hits.count() / requests;
+    }
+
+    public record ArticleSnapshot(UUID id, String name, BigDecimal unitPrice, int availableStock, long loadedAt) {
+        static ArticleSnapshot of(Article article, long loadedAt) {
+            return new ArticleSnapshot(article.getId(), article.getName(), article.getUnitPrice(), article.getAvailableStock(), loadedAt);
+        }
+    }
+}
@@ -1,23 +1,25 @@
 package com.inventory.inventorySystem.service;
 
+import com.inventory.inventorySystem.aspect.RetryOnConflict;
 import com.inventory.inventorySystem.dto.request.ArticleRequest;
 import com.inventory.inventorySystem.dto.response.ArticleResponse;
 import com.inventory.inventorySystem.dto.response.PaginatedResponse;
+import com.inventory.inventorySystem.enums.CountMode;
 import com.inventory.inventorySystem.exceptions.ResourceNotFoundException;
-import com.inventory.inventorySystem.exceptions.StockExhaustedException;
 import com.inventory.inventorySystem.mapper.interfaces.ArticleMapper;
 import com.inventory.inventorySystem.model.Article;
 import com.inventory.inventorySystem.model.Category;
 import com.inventory.inventorySystem.repository.ArticleRepository;
+import com.inventory.inventorySystem.repository.ArticleStockShardRepository;
 import com.inventory.inventorySystem.repository.CategoryRepository;
 import com.inventory.inventorySystem.service.interfaces.ArticleService;
+import com.inventory.inventorySystem.utils.PaginationSupport;
 import com.inventory.inventorySystem.utils.StringNormalizer;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -28,48 +30,74 @@ public class ArticleServiceImpl implements ArticleService {
     private final ArticleMapper articleMapper;
     private final CategoryRepository categoryRepository;
     private final StringNormalizer stringNormalizer;
+    private final PaginationSupport paginationSupport;
+    private final CategoryDictionary categoryDictionary;
+    private final ArticleNearCache articleNearCache;
+    private final ArticleStockShardRepository articleStockShardRepository;
+    private final WriteBehindStockCounters writeBehindStockCounters;
 
+    /**
+     * The category is checked against the local dictionary first; a miss falls back to the database,
+     * since a category created on another instance is only loaded here on the next reload.
+     */
     @Override
     public ArticleResponse saveArticle(ArticleRequest articleRequest){
-        Category category = categoryRepository.findById(articleRequest.id_category())
-                .orElseThrow(() -> new ResourceNotFoundException("Category", "id", articleRequest.id_category()));
+        UUID categoryId = articleRequest.id_category();
+        Category category;
+        if (categoryDictionary.contains(categoryId)) {
+            category = categoryRepository.getReferenceById(categoryId);
+        } else {
+            category = categoryRepository.findById(categoryId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Category", "id", categoryId));
+            categoryDictionary.put(category);
+        }
         Article article = articleMapper.toEntity(articleRequest, category);
         Article articleSaved = articleRepository.save(article);
         return articleMapper.toDto(articleSaved);
     }
 
+    /**
+     * A stock edit only writes {@code articles.stock}, so it is rejected for articles whose stock lives elsewhere:
+     * sharded stock would read back as row plus shards, and write-behind counters would ignore it until restart.
+     */
+    @RetryOnConflict
     @Override
     public ArticleResponse updateArticle(UUID id, ArticleRequest articleRequest){
         Article article = articleRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Article", "id", id));
+        if (articleRequest.stock() != null) {
+            verifyStockIsEditable(id);
+        }
         articleMapper.applyPartialUpdate(article, articleRequest);
         articleRepository.save(article);
+        articleNearCache.invalidate(id);
         return articleMapper.toDto(article);
     }
 
-    @Override
-    public PaginatedResponse<ArticleResponse> getAllArticles(String name, Pageable pageable) {
-        Page<Article> articlePage;
-        if(name != null && !name.trim().isEmpty()){
-            articlePage = articleRepository.findByName(stringNormalizer.toTitleCase(name), pageable);
-        }else{
-            articlePage = articleRepository.findAll(pageable);
+    private void verifyStockIsEditable(UUID id) {
+        if (!articleStockShardRepository.findShardedArticleIds(List.of(id)).isEmpty()) {
+            throw new IllegalArgumentException("Stock of a sharded article cannot be edited directly. " +
+                    "Merge its shards with PUT /api/v1/articles/" + id + "/stock-shards?shards=0 first, or restock it through a purchase");
+        }
+        if (writeBehindStockCounters.isManaged(id)) {
+            throw new IllegalArgumentException("Stock of a write-behind article cannot be edited directly. Restock it through a purchase");
         }
-        Page<ArticleResponse> responsePage = articlePage.map(articleMapper::toDto);
-        return new PaginatedResponse<>(responsePage);
     }
 
-    @Transactional
     @Override
-    public Article updateStock(UUID id, Integer quantity) {
-        Article article = articleRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Article", "id", id));
-
-        if (article.getStock() <= 0 || quantity > article.getStock()) {
-            throw new StockExhaustedException("Insufficient stock. Requested: " + quantity + ", Available: " + article.getStock());
+    public PaginatedResponse<ArticleResponse> getAllArticles(String name, Pageable pageable, CountMode countMode) {
+        if(name != null && !name.trim().isEmpty()){
+            String normalizedName = stringNormalizer.toTitleCase(name);
+            return paginationSupport.paginate(countMode, "articles:name=" + normalizedName,
+                    () -> articleRepository.findByName(normalizedName, pageable),
+                    () -> articleRepository.findSliceByName(normalizedName, pageable),
+                    () -> articleRepository.countByName(normalizedName),
+                    articleMapper::toDto);
         }
-
-        article.setStock(article.getStock() - quantity);
-        return articleRepository.save(article);
+        return paginationSupport.paginate(countMode, "articles",
+                () -> articleRepository.findAll(pageable),
+                () -> articleRepository.findSliceBy(pageable),
+                articleRepository::count,
+                articleMapper::toDto);
     }
 }
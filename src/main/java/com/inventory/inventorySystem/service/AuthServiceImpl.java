@@ -12,15 +12,24 @@ import com.inventory.inventorySystem.model.Token;
 import com.inventory.inventorySystem.model.User;
 import com.inventory.inventorySystem.repository.TokenRepository;
 import com.inventory.inventorySystem.repository.UserRepository;
+import com.inventory.inventorySystem.security.AccessTokenDenylist;
 import com.inventory.inventorySystem.security.JwtTokenProvider;
+import com.inventory.inventorySystem.security.TokenDigest;
 import com.inventory.inventorySystem.service.interfaces.AuthService;
 import com.inventory.inventorySystem.service.interfaces.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.InsufficientAuthenticationException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
 
 @Service
 @RequiredArgsConstructor
@@ -31,6 +40,13 @@ public class AuthServiceImpl implements AuthService {
     private final UserRepository userRepository;
     private final AuthenticationManager authenticationManager;
     private final UserMapper userMapper;
+    private final AccessTokenDenylist accessTokenDenylist;
+
+    @Value("${jwt.refresh-expiration}")
+    private long refreshExpiration;
+
+    @Value("${auth.sessions.cleanup-batch-size}")
+    private int cleanupBatchSize;
 
     @Override
     public AuthResponse registerUser(RegisterRequest registerRequest){
@@ -54,29 +70,34 @@ public class AuthServiceImpl implements AuthService {
         var userResponse = userMapper.toDto(user);
         String accessToken = jwtTokenProvider.generateAccessToken(userResponse);
         String refreshToken = jwtTokenProvider.generateRefreshToken(userResponse);
-        Token token = tokenRepository.findByUserId(user.getId())
-                .orElseThrow(() -> new InsufficientAuthenticationException("Authentication failed"));
-        token.setRevoked(false);
-        token.setExpired(false);
-        token.setRefreshToken(refreshToken);
-        tokenRepository.save(token);
+        saveToken(userResponse, refreshToken);
         return new AuthResponse(accessToken, refreshToken, userResponse);
     }
 
+    /**
+     * Every login opens its own session row, so signing in on another device leaves the existing sessions intact.
+     * Only the SHA-256 of the refresh token is stored.
+     */
     private void saveToken(UserResponse userResponse, String refreshToken){
         var user = userRepository.findById(userResponse.id())
                 .orElseThrow(() -> new ResourceNotFoundException("User", "userId", userResponse.id()));
         var token = Token
                 .builder()
-                .refreshToken(refreshToken)
+                .refreshTokenHash(TokenDigest.sha256(refreshToken))
                 .tokenType(TokenType.BEARER)
                 .expired(false)
                 .revoked(false)
+                .expiresAt(refreshExpiresAt())
                 .user(user).build();
         tokenRepository.save(token);
     }
 
+    private LocalDateTime refreshExpiresAt() {
+        return LocalDateTime.now().plus(Duration.ofMillis(refreshExpiration));
+    }
+
     @Override
+    @Transactional
     public AuthResponse refreshToken(String refreshToken) {
         String userEmail = jwtTokenProvider.getUsernameFromToken(refreshToken);
 
@@ -87,10 +108,12 @@ public class AuthServiceImpl implements AuthService {
             throw new InvalidTokenException("Refresh token is invalid or expired");
         }
 
-        Token storedToken = tokenRepository.findByRefreshToken(refreshToken)
+        byte[] refreshTokenHash = TokenDigest.sha256(refreshToken);
+        Token storedToken = tokenRepository.findByRefreshTokenHash(refreshTokenHash)
                 .orElseThrow(() -> new ResourceNotFoundException("Token", "Refresh Token", "Token invalid"));
 
-        if (storedToken.getRevoked() || storedToken.getExpired()) {
+        if (storedToken.getRevoked() || storedToken.getExpired()
+                || !storedToken.getUser().getId().equals(user.getId())) {
             throw new InvalidTokenException("Refresh token is invalid or expired");
         }
 
@@ -98,44 +121,74 @@ public class AuthServiceImpl implements AuthService {
         String newAccessToken = jwtTokenProvider.generateAccessToken(userResponse);
         String newRefreshToken = jwtTokenProvider.generateRefreshToken(userResponse);
 
-        updateStoredToken(storedToken, newRefreshToken);
+        updateStoredToken(storedToken, refreshTokenHash, newRefreshToken);
 
         return new AuthResponse(newAccessToken, newRefreshToken, userResponse);
     }
 
-    private String extractToken(String authHeader) {
+    private String extractAccessToken(String authHeader) {
         final String BEARER_PREFIX = "Bearer ";
         if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
-            throw new InvalidTokenException("Invalid refresh token: missing or incorrect prefix");
+            throw new InvalidTokenException("Invalid access token: missing or incorrect prefix");
         }
 
         String token = authHeader.substring(BEARER_PREFIX.length()).trim();
         if (token.isEmpty()) {
-            throw new InvalidTokenException("Invalid refresh token: token is empty");
+            throw new InvalidTokenException("Invalid access token: token is empty");
         }
         return token;
     }
 
-    private void updateStoredToken(Token token, String newRefreshToken) {
-        token.setRefreshToken(newRefreshToken);
-        token.setRevoked(false);
-        token.setExpired(false);
-        tokenRepository.save(token);
+    private void updateStoredToken(Token token, byte[] currentHash, String newRefreshToken) {
+        int rotated = tokenRepository.rotate(token.getId(), currentHash, TokenDigest.sha256(newRefreshToken), refreshExpiresAt());
+        if (rotated == 0) {
+            throw new InvalidTokenException("Refresh token is invalid or expired");
+        }
     }
 
+    /**
+     * Closes the session of the presented refresh token, or every session of the user when the
+     * request carries no refresh token. The access token itself is denylisted until it expires.
+     */
     @Override
-    public void logout(String authHeader) {
-        String accessToken = extractToken(authHeader);
-        String userEmail = jwtTokenProvider.getUsernameFromToken(accessToken);
+    @Transactional
+    public void logout(String authHeader, String refreshToken) {
+        String accessToken = extractAccessToken(authHeader);
+        Claims claims;
+        try {
+            claims = jwtTokenProvider.verifyAccessToken(accessToken);
+        } catch (JwtException | IllegalArgumentException exception) {
+            throw new InvalidTokenException("Access token is invalid or expired");
+        }
+        if (claims == null) {
+            throw new InvalidTokenException("Access token is invalid or expired");
+        }
+        String userEmail = claims.getSubject();
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "email", userEmail));
-        if (!jwtTokenProvider.isAccessTokenValid(accessToken, user)) {
-            throw new InvalidTokenException("Refresh token is invalid or expired");
+        accessTokenDenylist.revoke(claims.getId(), claims.getExpiration());
+        if (refreshToken == null) {
+            tokenRepository.revokeAllByUserId(user.getId(), LocalDateTime.now());
+            return;
         }
-        Token token = tokenRepository.findByUserId(user.getId())
+        Token token = tokenRepository.findByRefreshTokenHash(TokenDigest.sha256(refreshToken))
+                .filter(session -> session.getUser().getId().equals(user.getId()))
                 .orElseThrow(() -> new ResourceNotFoundException("Token", "userId", user.getId()));
         token.setExpired(true);
         token.setRevoked(true);
+        token.setExpiresAt(LocalDateTime.now());
         tokenRepository.save(token);
     }
+
+    /**
+     * Deletes expired and logged-out sessions in small batches through the expires_at index.
+     */
+    @Scheduled(fixedDelayString = "${auth.sessions.cleanup-interval-ms}")
+    public void deleteExpiredSessions() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted;
+        do {
+            deleted = tokenRepository.deleteExpired(now, cleanupBatchSize);
+        } while (deleted == cleanupBatchSize);
+    }
 }
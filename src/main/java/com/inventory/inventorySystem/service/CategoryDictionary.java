@@ -0,0 +1,78 @@
+package com.inventory.inventorySystem.service;
+
+import com.inventory.inventorySystem.model.Category;
+import com.inventory.inventorySystem.repository.CategoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Read-mostly copy of the categories table. Readers get an immutable, versioned snapshot without locking;
+ * every write replaces the whole snapshot. Local writes go through {@link #put(Category)}, changes made by
+ * other instances are picked up by the periodic reload.
+ */
+@Component
+public class CategoryDictionary {
+
+    private final CategoryRepository categoryRepository;
+    private final Object writeLock = new Object();
+
+    private volatile Snapshot snapshot = new Snapshot(0, Map.of());
+
+    public CategoryDictionary(CategoryRepository categoryRepository, MeterRegistry meterRegistry) {
+        this.categoryRepository = categoryRepository;
+        meterRegistry.gauge("categories.dictionary.version", this, dictionary -> dictionary.snapshot.version());
+        meterRegistry.gauge("categories.dictionary.size", this, dictionary -> dictionary.snapshot.entries().size());
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${categories.dictionary.reload-interval-ms}", initialDelayString = "${categories.dictionary.reload-interval-ms}")
+    public void reload() {
+        long loadedVersion = snapshot.version();
+        List<Category> categories = categoryRepository.findAll();
+        Map<UUID, CategoryEntry> entries = categories.stream()
+                .collect(Collectors.toUnmodifiableMap(Category::getId, CategoryEntry::of));
+        synchronized (writeLock) {
+            // A local write landed while the table was being read; keep it and let the next reload catch up.
+            if (snapshot.version() == loadedVersion) {
+                snapshot = new Snapshot(loadedVersion + 1, entries);
+            }
+        }
+    }
+
+    public void put(Category category) {
+        synchronized (writeLock) {
+            var entries = new HashMap<>(snapshot.entries());
+            entries.put(category.getId(), CategoryEntry.of(category));
+            snapshot = new Snapshot(snapshot.version() + 1, Map.copyOf(entries));
+        }
+    }
+
+    public CategoryEntry find(UUID id) {
+        return id == null ? null : snapshot.entries().get(id);
+    }
+
+    public boolean contains(UUID id) {
+        return find(id) != null;
+    }
+
+    public long version() {
+        return snapshot.version();
+    }
+
+    public record CategoryEntry(UUID id, String name, Boolean status) {
+        static CategoryEntry of(Category category) {
+            return new CategoryEntry(category.getId(), category.getName(), category.getStatus());
+        }
+    }
+
+    private record Snapshot(long version, Map<UUID, CategoryEntry> entries) {
+    }
+}
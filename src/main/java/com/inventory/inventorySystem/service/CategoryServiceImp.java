@@ -3,16 +3,19 @@ package com.inventory.inventorySystem.service;
 import com.inventory.inventorySystem.dto.request.CategoryRequest;
 import com.inventory.inventorySystem.dto.response.CategoryResponse;
 import com.inventory.inventorySystem.dto.response.PaginatedResponse;
+import com.inventory.inventorySystem.enums.CountMode;
 import com.inventory.inventorySystem.exceptions.ResourceNotFoundException;
 import com.inventory.inventorySystem.mapper.interfaces.CategoryMapper;
 import com.inventory.inventorySystem.model.Category;
 import com.inventory.inventorySystem.repository.CategoryRepository;
 import com.inventory.inventorySystem.service.interfaces.CategoryService;
+import com.inventory.inventorySystem.utils.PaginationSupport;
 import com.inventory.inventorySystem.utils.StringNormalizer;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.UUID;
 
@@ -22,11 +25,14 @@ public class CategoryServiceImp implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
     private final StringNormalizer stringNormalizer;
+    private final PaginationSupport paginationSupport;
+    private final CategoryDictionary categoryDictionary;
 
     @Override
     public CategoryResponse saveCategory(CategoryRequest categoryRequest) {
         Category category = categoryMapper.toEntity(categoryRequest);
         Category categorySaved = categoryRepository.save(category);
+        putAfterCommit(categorySaved);
         return categoryMapper.toDto(categorySaved);
     }
 
@@ -36,19 +42,40 @@ public class CategoryServiceImp implements CategoryService {
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
         categoryMapper.applyPartialUpdate(category, categoryRequest);
         categoryRepository.save(category);
+        putAfterCommit(category);
         return categoryMapper.toDto(category);
     }
 
     @Override
-    public PaginatedResponse<CategoryResponse> getAllCategories(String name, Pageable pageable) {
-        Page<Category> categoryPage;
+    public PaginatedResponse<CategoryResponse> getAllCategories(String name, Pageable pageable, CountMode countMode) {
         if (name != null && !name.trim().isEmpty()) {
-            categoryPage = categoryRepository.findByName(stringNormalizer.toTitleCase(name), pageable);
-        } else {
-            categoryPage = categoryRepository.findAll(pageable);
+            String normalizedName = stringNormalizer.toTitleCase(name);
+            return paginationSupport.paginate(countMode, "categories:name=" + normalizedName,
+                    () -> categoryRepository.findByName(normalizedName, pageable),
+                    () -> categoryRepository.findSliceByName(normalizedName, pageable),
+                    () -> categoryRepository.countByName(normalizedName),
+                    categoryMapper::toDto);
         }
-        Page<CategoryResponse> responsePage = categoryPage.map(categoryMapper::toDto);
-        return new PaginatedResponse<>(responsePage);
+        return paginationSupport.paginate(countMode, "categories",
+                () -> categoryRepository.findAll(pageable),
+                () -> categoryRepository.findSliceBy(pageable),
+                categoryRepository::count,
+                categoryMapper::toDto);
     }
 
+    /**
+     * Other requests must not see a category in the dictionary before it is committed.
+     */
+    private void putAfterCommit(Category category) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            categoryDictionary.put(category);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                categoryDictionary.put(category);
+            }
+        });
+    }
 }
@@ -3,14 +3,15 @@ package com.inventory.inventorySystem.service;
 import com.inventory.inventorySystem.dto.request.CustomerRequest;
 import com.inventory.inventorySystem.dto.response.CustomerResponse;
 import com.inventory.inventorySystem.dto.response.PaginatedResponse;
+import com.inventory.inventorySystem.enums.CountMode;
 import com.inventory.inventorySystem.exceptions.ResourceNotFoundException;
 import com.inventory.inventorySystem.mapper.interfaces.CustomerMapper;
 import com.inventory.inventorySystem.model.Customer;
 import com.inventory.inventorySystem.repository.CustomerRepository;
 import com.inventory.inventorySystem.service.interfaces.CustomerService;
+import com.inventory.inventorySystem.utils.PaginationSupport;
 import com.inventory.inventorySystem.utils.StringNormalizer;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
@@ -23,6 +24,7 @@ public class CustomerServiceImpl implements CustomerService {
     private final CustomerRepository customerRepository;
     private final CustomerMapper customerMapper;
     private final StringNormalizer stringNormalizer;
+    private final PaginationSupport paginationSupport;
 
     @Override
     public CustomerResponse registerCustomer(CustomerRequest customerRequest){
@@ -41,15 +43,20 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     @Override
-    public PaginatedResponse<CustomerResponse> getAllCustomers(String name, Pageable pageable){
-        Page<Customer> customerPage;
+    public PaginatedResponse<CustomerResponse> getAllCustomers(String name, Pageable pageable, CountMode countMode){
         if(name != null && !name.trim().isEmpty()){
-            customerPage = customerRepository.findByName(stringNormalizer.toTitleCase(name), pageable);
-        }else{
-            customerPage = customerRepository.findAll(pageable);
+            String normalizedName = stringNormalizer.toTitleCase(name);
+            return paginationSupport.paginate(countMode, "customers:name=" + normalizedName,
+                    () -> customerRepository.findByName(normalizedName, pageable),
+                    () -> customerRepository.findSliceByName(normalizedName, pageable),
+                    () -> customerRepository.countByName(normalizedName),
+                    customerMapper::toDto);
         }
-        Page<CustomerResponse> responsePage = customerPage.map(customerMapper::toDto);
-        return new PaginatedResponse<>(responsePage);
+        return paginationSupport.paginate(countMode, "customers",
+                () -> customerRepository.findAll(pageable),
+                () -> customerRepository.findSliceBy(pageable),
+                customerRepository::count,
+                customerMapper::toDto);
     }
 
 }
@@ -0,0 +1,154 @@
+package com.inventory.inventorySystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.inventorySystem.exceptions.IdempotencyKeyReuseException;
+import com.inventory.inventorySystem.model.IdempotencyKey;
+import com.inventory.inventorySystem.repository.IdempotencyKeyRepository;
+import com.inventory.inventorySystem.service.interfaces.IdempotencyService;
+import com.inventory.inventorySystem.utils.LruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 150;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final LruCache<String, StoredResponse> recentResponses;
+    private final long retentionHours;
+
+    public IdempotencyServiceImpl(IdempotencyKeyRepository idempotencyKeyRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  ObjectMapper objectMapper,
+                                  @Value("${idempotency.cache.max-entries}") int maxCachedResponses,
+                                  @Value("${idempotency.retention-hours}") long retentionHours) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.recentResponses = new LruCache<>(maxCachedResponses);
+        this.retentionHours = retentionHours;
+    }
+
+    /**
+     * Runs the action and stores its response in the same transaction. The stored key binds the client key to
+     * the scope (including the target resource) and to the authenticated user, so the same header sent by another
+     * user or for another sale is a different key. A repeated key returns the stored response without running the
+     * action again, unless the request body differs, which is rejected. Two concurrent requests with the same key
+     * collide on the primary key, the loser is rolled back and receives the winner's response.
+     */
+    @Override
+    public <T> T execute(String idempotencyKey, String principal, String scope, Object request,
+                         Class<T> responseType, Supplier<T> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must not exceed " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String key = HexFormat.of().formatHex(sha256((scope + "\n" + principal + "\n" + idempotencyKey).getBytes(StandardCharsets.UTF_8)));
+        byte[] requestHash = sha256(toJsonBytes(request));
+        String storedResponse = findStoredResponse(key, requestHash);
+        if (storedResponse != null) {
+            return fromJson(storedResponse, responseType);
+        }
+
+        try {
+            String responseBody = transactionTemplate.execute(status -> {
+                String body = toJson(action.get());
+                idempotencyKeyRepository.saveAndFlush(new IdempotencyKey(key, body, requestHash, null));
+                return body;
+            });
+            recentResponses.put(key, new StoredResponse(requestHash, responseBody, LocalDateTime.now()));
+            return fromJson(responseBody, responseType);
+        } catch (DataIntegrityViolationException exception) {
+            String winnerResponse = findStoredResponse(key, requestHash);
+            if (winnerResponse == null) {
+                throw exception;
+            }
+            return fromJson(winnerResponse, responseType);
+        }
+    }
+
+    /**
+     * Clients retry within minutes; keys older than the retention window are deleted through the created_at index.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms}", initialDelayString = "${idempotency.cleanup-interval-ms}")
+    public void deleteExpiredKeys() {
+        idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minusHours(retentionHours));
+    }
+
+    /**
+     * A cached response older than the retention window is a miss, so that after the cleanup job has deleted
+     * its row the key is executed again, exactly as on an instance that never cached it.
+     */
+    private String findStoredResponse(String key, byte[] requestHash) {
+        StoredResponse stored = recentResponses.get(key);
+        if (stored != null && !stored.createdAt().isAfter(LocalDateTime.now().minusHours(retentionHours))) {
+            recentResponses.remove(key);
+            stored = null;
+        }
+        if (stored == null) {
+            stored = idempotencyKeyRepository.findById(key)
+                    .map(row -> new StoredResponse(row.getRequestHash(), row.getResponseBody(), row.getCreatedAt()))
+                    .orElse(null);
+            if (stored == null) {
+                return null;
+            }
+            recentResponses.put(key, stored);
+        }
+        if (!MessageDigest.isEqual(stored.requestHash(), requestHash)) {
+            throw new IdempotencyKeyReuseException();
+        }
+        return stored.body();
+    }
+
+    private byte[] toJsonBytes(Object request) {
+        try {
+            return objectMapper.writeValueAsBytes(request);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Unable to fingerprint idempotent request", exception);
+        }
+    }
+
+    private String toJson(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Unable to store idempotent response", exception);
+        }
+    }
+
+    private <T> T fromJson(String body, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Unable to read idempotent response", exception);
+        }
+    }
+
+    private static byte[] sha256(byte[] value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+
+    private record StoredResponse(byte[] requestHash, String body, LocalDateTime createdAt) {
+    }
+}
@@ -2,39 +2,49 @@ package com.inventory.inventorySystem.service;
 
 import com.inventory.inventorySystem.dto.request.PurchaseDetailRequest;
 import com.inventory.inventorySystem.dto.response.PurchaseDetailResponse;
+import com.inventory.inventorySystem.enums.BulkInsertStrategy;
 import com.inventory.inventorySystem.mapper.interfaces.PurchaseDetailMapper;
 import com.inventory.inventorySystem.model.Article;
 import com.inventory.inventorySystem.model.Purchase;
 import com.inventory.inventorySystem.model.PurchaseDetail;
-import com.inventory.inventorySystem.repository.PurchaseDetailRepository;
-import com.inventory.inventorySystem.service.interfaces.ArticleService;
+import com.inventory.inventorySystem.repository.DetailBulkInserter;
 import com.inventory.inventorySystem.service.interfaces.PurchaseDetailService;
+import com.inventory.inventorySystem.service.interfaces.StockService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PurchaseDetailServiceImpl implements PurchaseDetailService {
 
-    private final ArticleService articleService;
+    private final StockService stockService;
     private final PurchaseDetailMapper purchaseDetailMapper;
-    private final PurchaseDetailRepository purchaseDetailRepository;
+    private final DetailBulkInserter detailBulkInserter;
+
+    @Value("${purchases.details.insert-strategy}")
+    private BulkInsertStrategy insertStrategy;
 
     @Override
     @Transactional
     public List<PurchaseDetailResponse> registerPurchaseDetail(List<PurchaseDetailRequest> purchaseDetailRequest, Purchase purchase){
         var details = new ArrayList<PurchaseDetail>();
 
-        purchaseDetailRequest.forEach( detailRequest -> {
-            Article article = articleService.updateStock(detailRequest.articleId(), detailRequest.quantity());
-            details.add(purchaseDetailMapper.toEntity(detailRequest, article, purchase));
-        });
+        Map<UUID, Integer> quantities = purchaseDetailRequest.stream()
+                .collect(Collectors.toMap(PurchaseDetailRequest::articleId, PurchaseDetailRequest::quantity, Integer::sum));
+        Map<UUID, Article> articles = stockService.increaseStock(quantities);
+
+        purchaseDetailRequest.forEach(detailRequest ->
+                details.add(purchaseDetailMapper.toEntity(detailRequest, articles.get(detailRequest.articleId()), purchase)));
 
-        purchaseDetailRepository.saveAll(details);
+        detailBulkInserter.insertPurchaseDetails(details, insertStrategy);
         return details.stream()
                 .map(purchaseDetailMapper::toDto)
                 .toList();
@@ -0,0 +1,229 @@
+package com.inventory.inventorySystem.service;
+
+import com.inventory.inventorySystem.dto.request.SaleDetailRequest;
+import com.inventory.inventorySystem.dto.request.SaleRequest;
+import com.inventory.inventorySystem.dto.response.SaleBatchItemResponse;
+import com.inventory.inventorySystem.dto.response.SaleBatchResponse;
+import com.inventory.inventorySystem.enums.BulkInsertStrategy;
+import com.inventory.inventorySystem.enums.SaleStatus;
+import com.inventory.inventorySystem.exceptions.ResourceNotFoundException;
+import com.inventory.inventorySystem.exceptions.StockExhaustedException;
+import com.inventory.inventorySystem.mapper.interfaces.SaleDetailMapper;
+import com.inventory.inventorySystem.mapper.interfaces.SaleMapper;
+import com.inventory.inventorySystem.model.Article;
+import com.inventory.inventorySystem.model.Customer;
+import com.inventory.inventorySystem.model.Sale;
+import com.inventory.inventorySystem.model.SaleDetail;
+import com.inventory.inventorySystem.model.User;
+import com.inventory.inventorySystem.repository.ArticleRepository;
+import com.inventory.inventorySystem.repository.CustomerRepository;
+import com.inventory.inventorySystem.repository.DetailBulkInserter;
+import com.inventory.inventorySystem.repository.SaleRepository;
+import com.inventory.inventorySystem.repository.UserRepository;
+import com.inventory.inventorySystem.service.interfaces.SaleBatchService;
+import com.inventory.inventorySystem.service.interfaces.SaleReservationService;
+import com.inventory.inventorySystem.service.interfaces.SaleService;
+import com.inventory.inventorySystem.service.interfaces.StockService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class SaleBatchServiceImpl implements SaleBatchService {
+
+    private final SaleRepository saleRepository;
+    private final DetailBulkInserter detailBulkInserter;
+    private final UserRepository userRepository;
+    private final CustomerRepository customerRepository;
+    private final ArticleRepository articleRepository;
+    private final StockService stockService;
+    private final SaleService saleService;
+    private final SaleReservationService saleReservationService;
+    private final SaleMapper saleMapper;
+    private final SaleDetailMapper saleDetailMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${sales.batch.max-sales}")
+    private int maxSales;
+
+    @Value("${sales.batch.chunk-size}")
+    private int chunkSize;
+
+    @Value("${sales.batch.insert-strategy}")
+    private BulkInsertStrategy insertStrategy;
+
+    /**
+     * Each chunk is registered in its own transaction. Invalid sales are reported individually without
+     * aborting the chunk; if the chunk itself fails to commit, its sales are replayed one by one.
+     * Inside a caller's transaction (an idempotent batch) the chunks join it, so a failed chunk fails the whole
+     * batch instead and a retry with the same key starts from scratch.
+     */
+    @Override
+    public SaleBatchResponse registerSales(List<SaleRequest> saleRequests) {
+        if (saleRequests.size() > maxSales) {
+            throw new IllegalArgumentException("A batch must not exceed " + maxSales + " sales");
+        }
+        var results = new ArrayList<SaleBatchItemResponse>(saleRequests.size());
+        for (int offset = 0; offset < saleRequests.size(); offset += chunkSize) {
+            List<SaleRequest> chunk = saleRequests.subList(offset, Math.min(offset + chunkSize, saleRequests.size()));
+            results.addAll(registerChunk(chunk, offset));
+        }
+
+        int created = (int) results.stream().filter(result -> result.saleId() != null).count();
+        return new SaleBatchResponse(saleRequests.size(), created, results.size() - created, results);
+    }
+
+    private List<SaleBatchItemResponse> registerChunk(List<SaleRequest> chunk, int offset) {
+        try {
+            return transactionTemplate.execute(status -> registerChunkInTransaction(chunk, offset));
+        } catch (RuntimeException exception) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                throw exception;
+            }
+            return registerIndividually(chunk, offset);
+        }
+    }
+
+    private List<SaleBatchItemResponse> registerChunkInTransaction(List<SaleRequest> chunk, int offset) {
+        var context = new ChunkContext(
+                index(userRepository.findAllById(collectIds(chunk, request -> Stream.ofNullable(request.userId()))), User::getId),
+                index(customerRepository.findAllById(collectIds(chunk, request -> Stream.ofNullable(request.customerId()))), Customer::getId),
+                index(articleRepository.findAllById(collectIds(chunk, this::articleIds)), Article::getId)
+        );
+
+        var sales = new ArrayList<Sale>();
+        var details = new ArrayList<SaleDetail>();
+        var errors = new HashMap<Integer, String>();
+        for (int i = 0; i < chunk.size(); i++) {
+            try {
+                sales.add(prepareSale(chunk.get(i), context, details));
+            } catch (ResourceNotFoundException | StockExhaustedException | IllegalArgumentException exception) {
+                sales.add(null);
+                errors.put(i, exception.getMessage());
+            }
+        }
+        List<Sale> acceptedSales = sales.stream().filter(Objects::nonNull).toList();
+
+        if (!acceptedSales.isEmpty()) {
+            saleRepository.saveAll(acceptedSales);
+            acceptedSales.forEach(sale -> saleReservationService.reserve(sale.getId()));
+            stockService.withdrawStock(context.quantities);
+            detailBulkInserter.insertSaleDetails(details, insertStrategy);
+        }
+
+        var results = new ArrayList<SaleBatchItemResponse>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            results.add(errors.containsKey(i)
+                    ? new SaleBatchItemResponse(offset + i, null, errors.get(i))
+                    : new SaleBatchItemResponse(offset + i, sales.get(i).getId(), null));
+        }
+        return results;
+    }
+
+    /**
+     * Validates the sale against the chunk lookups and reserves its quantities in the in-memory
+     * stock snapshot, so that a rejected sale never reaches the database.
+     */
+    private Sale prepareSale(SaleRequest request, ChunkContext context, List<SaleDetail> details) {
+        if (request.details() == null || request.details().isEmpty()) {
+            throw new IllegalArgumentException("Sale must have at least one detail");
+        }
+        if (request.details().stream().anyMatch(detail -> detail.quantity() == null || detail.quantity() < 1)) {
+            throw new IllegalArgumentException("Quantity must be at least 1");
+        }
+
+        User user = context.find(context.users, "User", request.userId());
+        Customer customer = request.customerId() == null ? null : context.find(context.customers, "Customer", request.customerId());
+
+        Map<UUID, Integer> requested = request.details().stream()
+                .collect(Collectors.toMap(SaleDetailRequest::articleId, SaleDetailRequest::quantity, Integer::sum));
+        requested.forEach((articleId, quantity) -> {
+            Article article = context.find(context.articles, "Article", articleId);
+            int available = context.available.computeIfAbsent(articleId, id -> article.getAvailableStock());
+            if (quantity > available) {
+                throw new StockExhaustedException("Insufficient stock. Requested: " + quantity + ", Available: " + available);
+            }
+        });
+        requested.forEach((articleId, quantity) -> {
+            context.available.merge(articleId, -quantity, Integer::sum);
+            context.quantities.merge(articleId, quantity, Integer::sum);
+        });
+
+        Sale sale = saleMapper.toEntity(user, customer);
+        sale.setStatus(SaleStatus.PENDING);
+        sale.setAmountPaid(BigDecimal.ZERO);
+        BigDecimal totalSale = BigDecimal.ZERO;
+        for (SaleDetailRequest detailRequest : request.details()) {
+            SaleDetail detail = saleDetailMapper.toEntity(detailRequest, context.articles.get(detailRequest.articleId()), sale);
+            totalSale = totalSale.add(detail.getSubtotal());
+            details.add(detail);
+        }
+        sale.setTotalSale(totalSale);
+        return sale;
+    }
+
+    private List<SaleBatchItemResponse> registerIndividually(List<SaleRequest> chunk, int offset) {
+        var results = new ArrayList<SaleBatchItemResponse>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            try {
+                UUID saleId = saleService.registerSale(chunk.get(i)).id();
+                results.add(new SaleBatchItemResponse(offset + i, saleId, null));
+            } catch (RuntimeException exception) {
+                results.add(new SaleBatchItemResponse(offset + i, null, exception.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    private Stream<UUID> articleIds(SaleRequest request) {
+        return Stream.ofNullable(request.details())
+                .flatMap(List::stream)
+                .map(SaleDetailRequest::articleId)
+                .filter(Objects::nonNull);
+    }
+
+    private Set<UUID> collectIds(List<SaleRequest> chunk, Function<SaleRequest, Stream<UUID>> extractor) {
+        return chunk.stream()
+                .flatMap(extractor)
+                .collect(Collectors.toSet());
+    }
+
+    private <T> Map<UUID, T> index(List<T> entities, Function<T, UUID> idExtractor) {
+        return entities.stream().collect(Collectors.toMap(idExtractor, Function.identity()));
+    }
+
+    private record ChunkContext(
+            Map<UUID, User> users,
+            Map<UUID, Customer> customers,
+            Map<UUID, Article> articles,
+            Map<UUID, Integer> available,
+            Map<UUID, Integer> quantities
+    ) {
+        ChunkContext(Map<UUID, User> users, Map<UUID, Customer> customers, Map<UUID, Article> articles) {
+            this(users, customers, articles, new HashMap<>(), new HashMap<>());
+        }
+
+        <T> T find(Map<UUID, T> entities, String resourceName, UUID id) {
+            T entity = id == null ? null : entities.get(id);
+            if (entity == null) {
+                throw new ResourceNotFoundException(resourceName, "id", id);
+            }
+            return entity;
+        }
+    }
+}
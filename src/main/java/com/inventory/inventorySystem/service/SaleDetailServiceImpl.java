@@ -2,42 +2,97 @@ package com.inventory.inventorySystem.service;
 
 import com.inventory.inventorySystem.dto.request.SaleDetailRequest;
 import com.inventory.inventorySystem.dto.response.SaleDetailResponse;
+import com.inventory.inventorySystem.enums.BulkInsertStrategy;
+import com.inventory.inventorySystem.exceptions.ResourceNotFoundException;
+import com.inventory.inventorySystem.exceptions.StockExhaustedException;
 import com.inventory.inventorySystem.mapper.interfaces.SaleDetailMapper;
-import com.inventory.inventorySystem.model.Article;
 import com.inventory.inventorySystem.model.Sale;
 import com.inventory.inventorySystem.model.SaleDetail;
-import com.inventory.inventorySystem.repository.SaleDetailRepository;
-import com.inventory.inventorySystem.service.interfaces.ArticleService;
+import com.inventory.inventorySystem.repository.ArticleRepository;
+import com.inventory.inventorySystem.repository.DetailBulkInserter;
+import com.inventory.inventorySystem.service.ArticleNearCache.ArticleSnapshot;
 import com.inventory.inventorySystem.service.interfaces.SaleDetailService;
+import com.inventory.inventorySystem.service.interfaces.StockService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class SaleDetailServiceImpl implements SaleDetailService {
 
-    private final SaleDetailRepository saleDetailRepository;
+    private final DetailBulkInserter detailBulkInserter;
     private final SaleDetailMapper saleDetailMapper;
-    private final ArticleService articleService;
+    private final StockService stockService;
+    private final ArticleNearCache articleNearCache;
+    private final ArticleRepository articleRepository;
+    private final WriteBehindStockCounters writeBehindStockCounters;
 
+    @Value("${sales.details.insert-strategy}")
+    private BulkInsertStrategy insertStrategy;
+
+    /**
+     * The article near cache only serves the precheck and the display fields of the response. The lines are
+     * priced from the article rows read after the stock withdrawal, so a price edited on any instance applies
+     * as soon as it commits, and the articles are referenced without loading them.
+     * The stock decrement in the database stays the authoritative availability check.
+     */
     @Transactional
     @Override
     public List<SaleDetailResponse> registerSaleDetail(List<SaleDetailRequest> saleDetailRequest, Sale sale){
         var details = new ArrayList<SaleDetail>();
 
-        saleDetailRequest.forEach(detailRequest -> {
-            Article article = articleService.updateStock(detailRequest.articleId(), detailRequest.quantity());
-            details.add(saleDetailMapper.toEntity(detailRequest, article, sale));
-        });
+        Map<UUID, Integer> quantities = saleDetailRequest.stream()
+                .collect(Collectors.toMap(SaleDetailRequest::articleId, SaleDetailRequest::quantity, Integer::sum));
+        Map<UUID, ArticleSnapshot> snapshots = precheck(quantities);
+        stockService.withdrawStock(quantities);
+        Map<UUID, BigDecimal> unitPrices = articleRepository.findUnitPrices(quantities.keySet());
+
+        saleDetailRequest.forEach(detailRequest -> details.add(saleDetailMapper.toEntity(detailRequest,
+                unitPrices.get(detailRequest.articleId()), articleRepository.getReferenceById(detailRequest.articleId()), sale)));
 
-        saleDetailRepository.saveAll(details);
+        detailBulkInserter.insertSaleDetails(details, insertStrategy);
 
         return details.stream()
-                .map(saleDetailMapper::toDto)
+                .map(detail -> saleDetailMapper.toDto(detail, snapshots.get(detail.getArticle().getId())))
                 .toList();
     }
+
+    /**
+     * Rejects unknown articles and obvious shortages before touching the stock rows. A cached shortage is
+     * confirmed against a fresh read, so a stale snapshot can delay a sale but never reject it wrongly.
+     * Articles held by the write-behind counters are left to their in-memory check, and units already withdrawn
+     * in advance for a group-commit batch count as available to its sales.
+     */
+    private Map<UUID, ArticleSnapshot> precheck(Map<UUID, Integer> quantities) {
+        Map<UUID, ArticleSnapshot> snapshots = articleNearCache.getAll(quantities.keySet());
+        for (var entry : quantities.entrySet()) {
+            UUID articleId = entry.getKey();
+            ArticleSnapshot snapshot = snapshots.get(articleId);
+            if (snapshot == null) {
+                throw new ResourceNotFoundException("Article", "id", articleId);
+            }
+            int withdrawnInAdvance = stockService.withdrawnInAdvance(articleId);
+            if (snapshot.availableStock() + withdrawnInAdvance < entry.getValue() && !writeBehindStockCounters.isManaged(articleId)) {
+                articleNearCache.invalidate(articleId);
+                snapshot = articleNearCache.getAll(List.of(articleId)).get(articleId);
+                if (snapshot == null) {
+                    throw new ResourceNotFoundException("Article", "id", articleId);
+                }
+                if (snapshot.availableStock() + withdrawnInAdvance < entry.getValue()) {
+                    throw new StockExhaustedException("Insufficient stock. Requested: " + entry.getValue() + ", Available: " + (snapshot.availableStock() + withdrawnInAdvance));
+                }
+                snapshots.put(articleId, snapshot);
+            }
+        }
+        return snapshots;
+    }
 }
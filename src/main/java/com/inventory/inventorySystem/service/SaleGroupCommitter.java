@@ -0,0 +1,288 @@
+package com.inventory.inventorySystem.service;
+
+import com.inventory.inventorySystem.dto.request.SaleDetailRequest;
+import com.inventory.inventorySystem.dto.request.SaleRequest;
+import com.inventory.inventorySystem.dto.response.CompleteSaleResponse;
+import com.inventory.inventorySystem.enums.SaleRegistrationMode;
+import com.inventory.inventorySystem.service.interfaces.SaleService;
+import com.inventory.inventorySystem.service.interfaces.StockService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Optional group-commit mode for sale registration. Callers enqueue their sale in a bounded buffer and
+ * a single writer thread registers up to {@code batch-size} sales per database transaction, waiting at
+ * most {@code max-linger-ms} for a batch to fill. Each caller is released once its batch has committed.
+ * A sale still queued after {@code queue-timeout-ms} is registered directly instead; once the writer has
+ * taken it, the caller waits for its outcome, since the sale may still commit. If the writer dies, every
+ * queued sale fails and later sales take the regular path.
+ */
+@Slf4j
+@Component
+public class SaleGroupCommitter {
+
+    private final SaleService saleService;
+    private final StockService stockService;
+    private final TransactionTemplate transactionTemplate;
+    private final SaleRegistrationMode registrationMode;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long maxLingerNanos;
+    private final long queueTimeoutMs;
+    private final BlockingQueue<PendingSale> queue;
+    private final DistributionSummary batchFill;
+    private final Counter batchFallbacks;
+    private final DistributionSummary coalescingRatio;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public SaleGroupCommitter(SaleService saleService,
+                              StockService stockService,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${sales.registration.mode}") SaleRegistrationMode registrationMode,
+                              @Value("${sales.group-commit.enabled}") boolean enabled,
+                              @Value("${sales.group-commit.queue-capacity}") int queueCapacity,
+                              @Value("${sales.group-commit.batch-size}") int batchSize,
+                              @Value("${sales.group-commit.max-linger-ms}") long maxLingerMs,
+                              @Value("${sales.group-commit.queue-timeout-ms}") long queueTimeoutMs) {
+        this.saleService = saleService;
+        this.stockService = stockService;
+        this.transactionTemplate = transactionTemplate;
+        this.registrationMode = registrationMode;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxLingerNanos = TimeUnit.MILLISECONDS.toNanos(maxLingerMs);
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchFill = DistributionSummary.builder("sales.group_commit.batch.size")
+                .description("Number of sales committed per group-commit transaction")
+                .maximumExpectedValue((double) batchSize)
+                .register(meterRegistry);
+        this.batchFallbacks = Counter.builder("sales.group_commit.fallbacks")
+                .description("Batches that failed and were replayed one sale per transaction")
+                .register(meterRegistry);
+        this.coalescingRatio = DistributionSummary.builder("stock.coalescing.ratio")
+                .description("Sale lines merged into each article stock update of a group-commit batch")
+                .register(meterRegistry);
+        meterRegistry.gauge("sales.group_commit.queue.depth", queue, BlockingQueue::size);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "sale-group-commit");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+
+        drainQueue().forEach(this::commitIndividually);
+    }
+
+    /**
+     * Registers the sale through the group-commit writer when the mode is enabled.
+     * Falls back to the regular transactional path when disabled or when the buffer is full.
+     */
+    public CompleteSaleResponse registerSale(SaleRequest saleRequest) {
+        var pending = new PendingSale(saleRequest, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            return saleService.registerSale(saleRequest);
+        }
+        // The writer may have stopped between the check and the offer; nobody would drain the queue then.
+        if (!running && queue.remove(pending)) {
+            return saleService.registerSale(saleRequest);
+        }
+        try {
+            return pending.result().get(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException exception) {
+            throw failure(exception.getCause());
+        } catch (TimeoutException | InterruptedException exception) {
+            if (exception instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            if (queue.remove(pending)) {
+                return saleService.registerSale(saleRequest);
+            }
+            // The writer already took the sale; reporting a failure now could make the client sell it twice.
+            return awaitInFlight(pending);
+        }
+    }
+
+    private CompleteSaleResponse awaitInFlight(PendingSale pending) {
+        try {
+            return pending.result().join();
+        } catch (CompletionException exception) {
+            throw failure(exception.getCause());
+        }
+    }
+
+    private RuntimeException failure(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException("Sale registration failed", cause);
+    }
+
+    private void drainLoop() {
+        var batch = new ArrayList<PendingSale>(batchSize);
+        try {
+            while (running) {
+                try {
+                    PendingSale first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    fillBatch(batch);
+                    commitBatch(batch);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    running = false;
+                } finally {
+                    // Single-sale batches and batches that failed to commit together end up here.
+                    batch.forEach(this::commitIndividually);
+                    batch.clear();
+                }
+            }
+        } catch (Throwable failure) {
+            running = false;
+            log.error("Group commit writer stopped, sales are registered directly from now on", failure);
+            batch.addAll(drainQueue());
+            batch.forEach(pending -> pending.result().completeExceptionally(failure));
+            if (failure instanceof Error error) {
+                throw error;
+            }
+        }
+    }
+
+    private List<PendingSale> drainQueue() {
+        var remaining = new ArrayList<PendingSale>();
+        queue.drainTo(remaining);
+        return remaining;
+    }
+
+    private void fillBatch(List<PendingSale> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + maxLingerNanos;
+        while (batch.size() < batchSize) {
+            if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            PendingSale next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * Each sale locks its own articles in order, but locks taken one sale after another would accumulate out of
+     * the global order. The stock of every article in the batch is therefore taken first, in that order: on the
+     * JPA path the merged quantities of all sales are withdrawn at once, one update per article, and each sale
+     * then takes its share of them; the register_sale routine decrements on its own, so the rows are only locked.
+     */
+    private void commitBatch(List<PendingSale> batch) {
+        batchFill.record(batch.size());
+        if (batch.size() == 1) {
+            return;
+        }
+        try {
+            List<CompleteSaleResponse> responses = transactionTemplate.execute(status -> {
+                if (registrationMode == SaleRegistrationMode.JPA) {
+                    withdrawInAdvance(batch);
+                } else {
+                    stockService.lockStock(articleIds(batch));
+                }
+                return batch.stream()
+                        .map(pending -> saleService.registerSale(pending.request()))
+                        .toList();
+            });
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(responses.get(i));
+            }
+            batch.clear();
+        } catch (RuntimeException exception) {
+            log.debug("Group commit of {} sales failed, replaying them individually", batch.size(), exception);
+            batchFallbacks.increment();
+        }
+    }
+
+    private void withdrawInAdvance(List<PendingSale> batch) {
+        var merged = new HashMap<UUID, Integer>();
+        int lines = 0;
+        for (PendingSale pending : batch) {
+            Map<UUID, Integer> quantities = pending.request().details().stream()
+                    .collect(Collectors.toMap(SaleDetailRequest::articleId, SaleDetailRequest::quantity, Integer::sum));
+            quantities.forEach((articleId, quantity) -> merged.merge(articleId, quantity, Integer::sum));
+            lines += quantities.size();
+        }
+        stockService.withdrawStockInAdvance(merged);
+        if (!merged.isEmpty()) {
+            coalescingRatio.record((double) lines / merged.size());
+        }
+    }
+
+    private List<UUID> articleIds(List<PendingSale> batch) {
+        return batch.stream()
+                .flatMap(pending -> pending.request().details().stream())
+                .map(SaleDetailRequest::articleId)
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * A failing sale rolls back the shared transaction, so every sale of that batch is replayed in its own
+     * transaction and only the offending request receives the error.
+     */
+    private void commitIndividually(PendingSale pending) {
+        if (pending.result().isDone()) {
+            return;
+        }
+        try {
+            pending.result().complete(saleService.registerSale(pending.request()));
+        } catch (RuntimeException exception) {
+            pending.result().completeExceptionally(exception);
+        }
+    }
+
+    private record PendingSale(SaleRequest request, CompletableFuture<CompleteSaleResponse> result) {
+    }
+}
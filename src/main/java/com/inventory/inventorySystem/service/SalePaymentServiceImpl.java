@@ -11,12 +11,11 @@ import com.inventory.inventorySystem.model.SalePayment;
 import com.inventory.inventorySystem.repository.SalePaymentRepository;
 import com.inventory.inventorySystem.repository.SaleRepository;
 import com.inventory.inventorySystem.service.interfaces.SalePaymentService;
+import com.inventory.inventorySystem.service.interfaces.SaleReservationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -26,39 +25,36 @@ public class SalePaymentServiceImpl implements SalePaymentService {
     private final SalePaymentRepository salePaymentRepository;
     private final SalePaymentMapper salePaymentMapper;
     private final SaleRepository saleRepository;
+    private final SaleReservationService saleReservationService;
 
+    /**
+     * The overpayment check, the running total and the PAID transition are a single guarded UPDATE on the sale,
+     * committed together with the payment row. The first payment also makes the sale's stock reservation permanent.
+     * Nothing here reads a versioned entity and writes it back, so there is no optimistic conflict to retry.
+     */
     @Override
     @Transactional
     public SalePaymentResponse saveSalePayment(SalePaymentRequest salePaymentRequest, UUID idSale) {
-        Sale sale = saleRepository.findById(idSale)
-                .orElseThrow(() -> new ResourceNotFoundException("Sale", "id", idSale));
-
-        if (sale.getStatus() == SaleStatus.PAID) {
-            throw new PaymentProcessingException("The sale has already been paid in full.");
-        }
-
-        BigDecimal totalPaidSoFar = getSaleTotalPaid(sale);
-        BigDecimal newTotalPaid = totalPaidSoFar.add(salePaymentRequest.amountPaid());
-
-        if (newTotalPaid.compareTo(sale.getTotalSale()) > 0) {
-            throw new PaymentProcessingException("The total amount paid cannot be greater than the total of the sale.");
+        if (saleRepository.registerPayment(idSale, salePaymentRequest.amountPaid()) == 0) {
+            throw rejectedPayment(idSale);
         }
+        saleReservationService.confirm(idSale);
 
-        SalePayment salePayment = salePaymentMapper.toEntity(salePaymentRequest, sale);
+        SalePayment salePayment = salePaymentMapper.toEntity(salePaymentRequest, saleRepository.getReferenceById(idSale));
         salePayment = salePaymentRepository.saveAndFlush(salePayment);
-
-        if (newTotalPaid.compareTo(sale.getTotalSale()) >= 0) {
-            sale.setStatus(SaleStatus.PAID);
-            saleRepository.save(sale);
-        }
         return salePaymentMapper.toDto(salePayment);
     }
 
+    private RuntimeException rejectedPayment(UUID idSale) {
+        Sale sale = saleRepository.findById(idSale)
+                .orElseThrow(() -> new ResourceNotFoundException("Sale", "id", idSale));
 
-    public BigDecimal getSaleTotalPaid(Sale sale) {
-        List<SalePayment> payments = salePaymentRepository.findBySaleId(sale.getId());
-        return payments.stream()
-                .map(SalePayment::getAmountPaid)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (sale.getStatus() == SaleStatus.PAID) {
+            return new PaymentProcessingException("The sale has already been paid in full.");
+        }
+        if (sale.getStatus() == SaleStatus.EXPIRED) {
+            return new PaymentProcessingException("The sale has expired and its reserved stock was released.");
+        }
+        return new PaymentProcessingException("The total amount paid cannot be greater than the total of the sale.");
     }
 }
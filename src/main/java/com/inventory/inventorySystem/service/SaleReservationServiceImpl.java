@@ -0,0 +1,153 @@
+package com.inventory.inventorySystem.service;
+
+import com.inventory.inventorySystem.model.SaleDetail;
+import com.inventory.inventorySystem.model.StockReservation;
+import com.inventory.inventorySystem.repository.SaleDetailRepository;
+import com.inventory.inventorySystem.repository.SaleRepository;
+import com.inventory.inventorySystem.repository.StockReservationRepository;
+import com.inventory.inventorySystem.service.interfaces.SaleReservationService;
+import com.inventory.inventorySystem.service.interfaces.StockService;
+import com.inventory.inventorySystem.utils.HashedTimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Pending sales hold their stock for {@code ttl-minutes}. Open reservations are persisted in
+ * {@code stock_reservations} and tracked in memory on a hashed timing wheel, so expiring them costs
+ * O(1) per reservation instead of a periodic scan of the table. A payment makes the decrement permanent;
+ * an expired sale is marked as EXPIRED and its quantities return to stock.
+ */
+@Slf4j
+@Service
+public class SaleReservationServiceImpl implements SaleReservationService {
+
+    private static final long MAX_RETRY_REVOLUTIONS = 8;
+
+    private final StockReservationRepository stockReservationRepository;
+    private final SaleRepository saleRepository;
+    private final SaleDetailRepository saleDetailRepository;
+    private final StockService stockService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final long tickMillis;
+    private final int wheelSize;
+    private final HashedTimingWheel<UUID> wheel;
+    private final Map<UUID, Integer> failedExpiries = new ConcurrentHashMap<>();
+    private final Counter expiredSales;
+
+    public SaleReservationServiceImpl(StockReservationRepository stockReservationRepository,
+                                      SaleRepository saleRepository,
+                                      SaleDetailRepository saleDetailRepository,
+                                      StockService stockService,
+                                      TransactionTemplate transactionTemplate,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${sales.reservation.ttl-minutes}") long ttlMinutes,
+                                      @Value("${sales.reservation.tick-ms}") long tickMillis,
+                                      @Value("${sales.reservation.wheel-size}") int wheelSize) {
+        this.stockReservationRepository = stockReservationRepository;
+        this.saleRepository = saleRepository;
+        this.saleDetailRepository = saleDetailRepository;
+        this.stockService = stockService;
+        this.transactionTemplate = transactionTemplate;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.wheel = new HashedTimingWheel<>(wheelSize);
+        this.expiredSales = Counter.builder("sales.reservation.expired")
+                .description("Pending sales whose reserved stock was released")
+                .register(meterRegistry);
+        meterRegistry.gauge("sales.reservation.open", wheel, HashedTimingWheel::size);
+    }
+
+    /**
+     * Puts the reservations that were open before the restart back on the wheel.
+     */
+    @PostConstruct
+    void loadOpenReservations() {
+        LocalDateTime now = LocalDateTime.now();
+        stockReservationRepository.findAll()
+                .forEach(reservation -> wheel.schedule(reservation.getSaleId(), ticksUntil(now, reservation.getExpiresAt())));
+    }
+
+    @Override
+    public void reserve(UUID saleId) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(ttl);
+        stockReservationRepository.save(new StockReservation(saleId, expiresAt, null));
+        afterCommit(() -> wheel.schedule(saleId, ticksUntil(now, expiresAt)));
+    }
+
+    @Override
+    public void confirm(UUID saleId) {
+        stockReservationRepository.deleteBySaleId(saleId);
+        afterCommit(() -> {
+            wheel.cancel(saleId);
+            failedExpiries.remove(saleId);
+        });
+    }
+
+    /**
+     * A failed expiry is retried one revolution later, doubling the delay on every consecutive failure up to
+     * {@value #MAX_RETRY_REVOLUTIONS} revolutions, so a database outage is not hammered on every tick.
+     */
+    @Scheduled(fixedRateString = "${sales.reservation.tick-ms}")
+    public void expireReservations() {
+        for (UUID saleId : wheel.advance()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> expire(saleId));
+                failedExpiries.remove(saleId);
+            } catch (RuntimeException exception) {
+                int failures = failedExpiries.merge(saleId, 1, Integer::sum);
+                long revolutions = Math.min(1L << Math.min(failures - 1, 30), MAX_RETRY_REVOLUTIONS);
+                log.warn("Expiring the reservation of sale {} failed, retrying in {} revolution(s)", saleId, revolutions, exception);
+                wheel.schedule(saleId, revolutions * wheelSize);
+            }
+        }
+    }
+
+    /**
+     * The guarded update only expires sales that are still pending and unpaid,
+     * so a payment racing with the expiry always wins.
+     */
+    private void expire(UUID saleId) {
+        if (saleRepository.expireSale(saleId) > 0) {
+            Map<UUID, Integer> quantities = saleDetailRepository.findBySaleId(saleId).stream()
+                    .collect(Collectors.toMap(detail -> detail.getArticle().getId(), SaleDetail::getQuantity, Integer::sum));
+            stockService.increaseStock(quantities);
+            expiredSales.increment();
+        }
+        stockReservationRepository.deleteBySaleId(saleId);
+    }
+
+    private long ticksUntil(LocalDateTime now, LocalDateTime expiresAt) {
+        return Math.max(1, Duration.between(now, expiresAt).toMillis() / tickMillis);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -2,9 +2,12 @@ package com.inventory.inventorySystem.service;
 
 import com.inventory.inventorySystem.dto.request.SaleRequest;
 import com.inventory.inventorySystem.dto.response.PaginatedResponse;
+import com.inventory.inventorySystem.enums.CountMode;
 import com.inventory.inventorySystem.dto.response.SaleDetailResponse;
 import com.inventory.inventorySystem.dto.response.CompleteSaleResponse;
+import com.inventory.inventorySystem.dto.response.CursorPaginatedResponse;
 import com.inventory.inventorySystem.dto.response.SaleResponse;
+import com.inventory.inventorySystem.enums.SaleRegistrationMode;
 import com.inventory.inventorySystem.enums.SaleStatus;
 import com.inventory.inventorySystem.exceptions.ResourceNotFoundException;
 import com.inventory.inventorySystem.mapper.interfaces.SaleMapper;
@@ -13,21 +16,30 @@ import com.inventory.inventorySystem.model.Sale;
 import com.inventory.inventorySystem.model.User;
 import com.inventory.inventorySystem.repository.CustomerRepository;
 import com.inventory.inventorySystem.repository.SaleRepository;
+import com.inventory.inventorySystem.repository.SaleRoutineRepository;
 import com.inventory.inventorySystem.repository.UserRepository;
 import com.inventory.inventorySystem.service.interfaces.SaleDetailService;
+import com.inventory.inventorySystem.service.interfaces.SaleReservationService;
 import com.inventory.inventorySystem.service.interfaces.SaleService;
+import com.inventory.inventorySystem.utils.KeysetCursor;
+import com.inventory.inventorySystem.utils.PaginationSupport;
 import com.inventory.inventorySystem.utils.StringNormalizer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -39,10 +51,41 @@ public class SaleServiceImpl implements SaleService {
     private final CustomerRepository customerRepository;
     private final SaleMapper saleMapper;
     private final StringNormalizer stringNormalizer;
+    private final PaginationSupport paginationSupport;
+    private final SaleRoutineRepository saleRoutineRepository;
+    private final MeterRegistry meterRegistry;
+    private final SaleReservationService saleReservationService;
+    private final WriteBehindStockCounters writeBehindStockCounters;
 
+    private static final LocalDateTime KEYSET_LOWER_BOUND = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime KEYSET_UPPER_BOUND = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    @Value("${sales.registration.mode}")
+    private SaleRegistrationMode registrationMode;
+
+    /**
+     * The register_sale routine only sees database stock, so a sale containing an article whose stock is held by
+     * the write-behind counters always takes the JPA path.
+     */
     @Override
     @Transactional
     public CompleteSaleResponse registerSale(SaleRequest saleRequest) {
+        if (saleRequest.details() == null || saleRequest.details().isEmpty()) {
+            throw new IllegalArgumentException("Sale must have at least one detail");
+        }
+        SaleRegistrationMode mode = registrationMode == SaleRegistrationMode.ROUTINE && saleRequest.details().stream()
+                .anyMatch(detail -> writeBehindStockCounters.isManaged(detail.articleId()))
+                ? SaleRegistrationMode.JPA
+                : registrationMode;
+        Timer timer = meterRegistry.timer("sales.registration", "mode", mode.name().toLowerCase());
+        CompleteSaleResponse response = mode == SaleRegistrationMode.ROUTINE
+                ? timer.record(() -> saleRoutineRepository.registerSale(saleRequest))
+                : timer.record(() -> registerSaleWithJpa(saleRequest));
+        saleReservationService.reserve(response.id());
+        return response;
+    }
+
+    private CompleteSaleResponse registerSaleWithJpa(SaleRequest saleRequest) {
         User user = userRepository.findById(saleRequest.userId())
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", saleRequest.userId()));
 
@@ -50,6 +93,7 @@ public class SaleServiceImpl implements SaleService {
 
         Sale sale = saleMapper.toEntity(user, customer);
         sale.setTotalSale(BigDecimal.ZERO);
+        sale.setAmountPaid(BigDecimal.ZERO);
         sale.setStatus(SaleStatus.PENDING);
         sale = saleRepository.saveAndFlush(sale);
 
@@ -61,17 +105,56 @@ public class SaleServiceImpl implements SaleService {
     }
 
     @Override
-    public PaginatedResponse<SaleResponse> getAllSales(LocalDate startDate, LocalDate endDate, String customerName, Pageable pageable){
-        Page<Sale> salePage;
+    public PaginatedResponse<SaleResponse> getAllSales(LocalDate startDate, LocalDate endDate, String customerName, Pageable pageable, CountMode countMode){
         if(startDate != null && endDate != null){
-            salePage = saleRepository.findByDateBetween(startDate.atStartOfDay(), endDate.atTime(LocalTime.MAX), pageable);
+            LocalDateTime start = startDate.atStartOfDay();
+            LocalDateTime end = endDate.atTime(LocalTime.MAX);
+            return paginationSupport.paginate(countMode, "sales:date=" + startDate + ".." + endDate,
+                    () -> saleRepository.findResponsesByDateBetween(start, end, pageable),
+                    () -> saleRepository.findResponseSliceByDateBetween(start, end, pageable),
+                    () -> saleRepository.countByDateBetween(start, end),
+                    Function.identity());
         }else if (customerName != null){
-            salePage = saleRepository.findByCustomerName(stringNormalizer.toTitleCase(customerName), pageable);
-        }else {
-            salePage = saleRepository.findAll(pageable);
+            String normalizedName = stringNormalizer.toTitleCase(customerName);
+            return paginationSupport.paginate(countMode, "sales:customer=" + normalizedName,
+                    () -> saleRepository.findResponsesByCustomerName(normalizedName, pageable),
+                    () -> saleRepository.findResponseSliceByCustomerName(normalizedName, pageable),
+                    () -> saleRepository.countByCustomerName(normalizedName),
+                    Function.identity());
+        }
+        return paginationSupport.paginate(countMode, "sales",
+                () -> saleRepository.findAllResponses(pageable),
+                () -> saleRepository.findAllResponseSlice(pageable),
+                saleRepository::count,
+                Function.identity());
+    }
+
+    /**
+     * Keyset pagination ordered by (date, id): each page seeks past the last row of the previous one,
+     * so deep pages cost the same as the first and no COUNT is issued. One extra row is fetched to detect a next page.
+     */
+    @Override
+    public CursorPaginatedResponse<SaleResponse> getSalesAfter(LocalDate startDate, LocalDate endDate, String cursor, int size) {
+        LocalDateTime start = startDate != null ? startDate.atStartOfDay() : KEYSET_LOWER_BOUND;
+        LocalDateTime end = endDate != null ? endDate.atTime(LocalTime.MAX) : KEYSET_UPPER_BOUND;
+        PageRequest limit = PageRequest.of(0, size + 1);
+
+        List<SaleResponse> sales;
+        if (cursor == null || cursor.isBlank()) {
+            sales = saleRepository.findFirstKeysetPage(start, end, limit);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            sales = saleRepository.findKeysetPageAfter(start, end, position.date(), position.id(), limit);
+        }
+
+        boolean hasNext = sales.size() > size;
+        List<SaleResponse> page = hasNext ? sales.subList(0, size) : sales;
+        String nextCursor = null;
+        if (hasNext) {
+            SaleResponse last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.date(), last.id()).encode();
         }
-        Page<SaleResponse> saleResponses = salePage.map(saleMapper::toDto);
-        return new PaginatedResponse<>(saleResponses);
+        return new CursorPaginatedResponse<>(page, size, nextCursor, hasNext);
     }
 
     private BigDecimal calculateTotalAmount(List<SaleDetailResponse> saleDetailResponses){
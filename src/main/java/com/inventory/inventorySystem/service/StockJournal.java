@@ -0,0 +1,150 @@
+package com.inventory.inventorySystem.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Append-only local journal of the stock deltas accepted by {@link WriteBehindStockCounters} and not yet
+ * written to the database. Deltas go to the current segment; a flush rotates the segment and deletes it
+ * once its deltas are committed. Lines are {@code <articleId>,<units taken>}.
+ * Writes are guarded by a {@link ReentrantLock} rather than {@code synchronized}, so a virtual thread
+ * blocked on file I/O does not pin its carrier thread.
+ */
+public class StockJournal {
+
+    private static final String SEGMENT_PREFIX = "stock-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private final Path directory;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long sequence;
+    private Path currentSegment;
+    private BufferedWriter writer;
+    private boolean dirty;
+
+    public StockJournal(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Segments left behind by a previous run, oldest first.
+     */
+    public List<Path> leftoverSegments() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    public void open() {
+        lock.lock();
+        try {
+            sequence = System.currentTimeMillis();
+            openSegment();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void append(UUID articleId, int units) {
+        lock.lock();
+        try {
+            writer.write(articleId + "," + units + "\n");
+            writer.flush();
+            dirty = true;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isDirty() {
+        lock.lock();
+        try {
+            return dirty;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the current segment, starts a new one and returns the closed segment.
+     */
+    public Path rotate() {
+        lock.lock();
+        try {
+            Path closed = currentSegment;
+            close();
+            sequence++;
+            openSegment();
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void close() {
+        lock.lock();
+        try {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public static Map<UUID, Integer> read(Path segment) {
+        var deltas = new HashMap<UUID, Integer>();
+        try (Stream<String> lines = Files.lines(segment, StandardCharsets.UTF_8)) {
+            lines.filter(line -> !line.isBlank()).forEach(line -> {
+                String[] fields = line.split(",");
+                deltas.merge(UUID.fromString(fields[0]), Integer.parseInt(fields[1]), Integer::sum);
+            });
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return deltas;
+    }
+
+    public static void delete(Path segment) {
+        try {
+            Files.deleteIfExists(segment);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private void openSegment() {
+        try {
+            Files.createDirectories(directory);
+            currentSegment = directory.resolve(SEGMENT_PREFIX + sequence + SEGMENT_SUFFIX);
+            writer = Files.newBufferedWriter(currentSegment, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            dirty = false;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
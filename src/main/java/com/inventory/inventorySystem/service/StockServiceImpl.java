@@ -0,0 +1,232 @@
+package com.inventory.inventorySystem.service;
+
+import com.inventory.inventorySystem.exceptions.ResourceNotFoundException;
+import com.inventory.inventorySystem.exceptions.StockExhaustedException;
+import com.inventory.inventorySystem.model.Article;
+import com.inventory.inventorySystem.repository.ArticleRepository;
+import com.inventory.inventorySystem.repository.ArticleStockShardRepository;
+import com.inventory.inventorySystem.service.interfaces.StockService;
+import com.inventory.inventorySystem.utils.UuidOrder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class StockServiceImpl implements StockService {
+
+    private static final Object WITHDRAWN_IN_ADVANCE_KEY = new Object();
+
+    private final ArticleRepository articleRepository;
+    private final WriteBehindStockCounters writeBehindStockCounters;
+    private final ArticleStockShardRepository articleStockShardRepository;
+    private final ArticleNearCache articleNearCache;
+    private final StripedArticleLocks stripedArticleLocks;
+
+    /**
+     * Quantities must already be merged per article; articles are locked in ascending id order, using the same
+     * unsigned ordering as the register_sale routine. Consecutive unsharded articles are decremented with one
+     * batched statement, while a sharded article is resolved at its own position in that order, taking from a
+     * random shard before touching the article row, so no lock is ever taken out of order. The in-memory stripes
+     * of the articles are taken first, in the same order. Articles managed by the write-behind counters are
+     * taken from memory instead, and quantities already withdrawn in advance for the transaction are taken
+     * from that amount.
+     */
+    @Override
+    @Transactional
+    public void withdrawStock(Map<UUID, Integer> quantities) {
+        withdrawFromStock(takeWithdrawnInAdvance(quantities));
+    }
+
+    private void withdrawFromStock(Map<UUID, Integer> quantities) {
+        var orderedQuantities = new TreeMap<UUID, Integer>(UuidOrder.DATABASE);
+        quantities.forEach((articleId, quantity) -> {
+            if (writeBehindStockCounters.isManaged(articleId)) {
+                writeBehindStockCounters.reserve(articleId, quantity);
+            } else {
+                orderedQuantities.put(articleId, quantity);
+            }
+        });
+        if (orderedQuantities.isEmpty()) {
+            return;
+        }
+        stripedArticleLocks.lockWhile(orderedQuantities.navigableKeySet(), () -> decreaseInOrder(orderedQuantities));
+    }
+
+    /**
+     * Coalesces the withdrawals of several sales sharing the current transaction: their merged quantities are
+     * withdrawn here with one update per article, and the later {@link #withdrawStock} call of each sale takes
+     * its quantities from this amount instead of updating the rows again. Every sale still commits or rolls
+     * back with the shared transaction. Without a transaction there is nothing to share, so nothing is withdrawn.
+     */
+    @Override
+    @Transactional
+    public void withdrawStockInAdvance(Map<UUID, Integer> quantities) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        withdrawFromStock(quantities);
+        Map<UUID, Integer> withdrawn = Objects.requireNonNullElseGet(withdrawnInAdvance(), this::bindWithdrawnInAdvance);
+        quantities.forEach((articleId, quantity) -> withdrawn.merge(articleId, quantity, Integer::sum));
+    }
+
+    /**
+     * Units of the article withdrawn in advance for the current transaction and not yet claimed by a sale.
+     */
+    @Override
+    public int withdrawnInAdvance(UUID articleId) {
+        Map<UUID, Integer> withdrawn = withdrawnInAdvance();
+        return withdrawn == null ? 0 : withdrawn.getOrDefault(articleId, 0);
+    }
+
+    private void decreaseInOrder(SortedMap<UUID, Integer> orderedQuantities) {
+        Set<UUID> shardedArticles = Set.copyOf(articleStockShardRepository.findShardedArticleIds(orderedQuantities.keySet()));
+        var unshardedRun = new TreeMap<UUID, Integer>(UuidOrder.DATABASE);
+        for (var entry : orderedQuantities.entrySet()) {
+            if (!shardedArticles.contains(entry.getKey())) {
+                unshardedRun.put(entry.getKey(), entry.getValue());
+                continue;
+            }
+            decreaseArticleRows(unshardedRun);
+            unshardedRun = new TreeMap<>(UuidOrder.DATABASE);
+            if (!articleStockShardRepository.decreaseStock(entry.getKey(), entry.getValue())) {
+                throw rejectedDecrement(entry.getKey(), entry.getValue());
+            }
+        }
+        decreaseArticleRows(unshardedRun);
+    }
+
+    /**
+     * Locks the stock of every article up front, in the same global order and with the same per-article unit
+     * (article row, then its shards) as {@link #withdrawStock}. Several sales sharing one transaction call this
+     * first, so their later withdrawals only re-enter locks the transaction already holds.
+     * Write-behind articles hold no database lock.
+     */
+    @Override
+    @Transactional
+    public void lockStock(Collection<UUID> articleIds) {
+        var orderedIds = new TreeSet<UUID>(UuidOrder.DATABASE);
+        articleIds.stream()
+                .filter(articleId -> !writeBehindStockCounters.isManaged(articleId))
+                .forEach(orderedIds::add);
+        if (orderedIds.isEmpty()) {
+            return;
+        }
+
+        stripedArticleLocks.lockWhile(orderedIds, () -> lockInOrder(orderedIds));
+    }
+
+    private void lockInOrder(SortedSet<UUID> orderedIds) {
+        Set<UUID> shardedArticles = Set.copyOf(articleStockShardRepository.findShardedArticleIds(orderedIds));
+        var unshardedRun = new TreeSet<UUID>(UuidOrder.DATABASE);
+        for (UUID articleId : orderedIds) {
+            if (!shardedArticles.contains(articleId)) {
+                unshardedRun.add(articleId);
+                continue;
+            }
+            articleRepository.lockStockInBatch(unshardedRun);
+            unshardedRun = new TreeSet<>(UuidOrder.DATABASE);
+            articleStockShardRepository.lockStock(articleId);
+        }
+        articleRepository.lockStockInBatch(unshardedRun);
+    }
+
+    /**
+     * Restocks every article with a single set-based statement, used when receiving purchases and when
+     * unpaid sales expire. The rows are locked in the same global order as {@link #withdrawStock}.
+     */
+    @Override
+    @Transactional
+    public Map<UUID, Article> increaseStock(Map<UUID, Integer> quantities) {
+        var orderedQuantities = new TreeMap<UUID, Integer>(UuidOrder.DATABASE);
+        orderedQuantities.putAll(quantities);
+        int updatedArticles = articleRepository.increaseStockInBatch(orderedQuantities);
+
+        Map<UUID, Article> articles = articleRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Article::getId, Function.identity()));
+
+        if (updatedArticles < quantities.size()) {
+            UUID missingId = quantities.keySet().stream()
+                    .filter(id -> !articles.containsKey(id))
+                    .findFirst()
+                    .orElse(null);
+            throw new ResourceNotFoundException("Article", "id", missingId);
+        }
+        quantities.forEach(writeBehindStockCounters::restock);
+        quantities.keySet().forEach(articleNearCache::invalidate);
+        return articles;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<UUID, Integer> withdrawnInAdvance() {
+        return (Map<UUID, Integer>) TransactionSynchronizationManager.getResource(WITHDRAWN_IN_ADVANCE_KEY);
+    }
+
+    private Map<UUID, Integer> bindWithdrawnInAdvance() {
+        var withdrawn = new HashMap<UUID, Integer>();
+        TransactionSynchronizationManager.bindResource(WITHDRAWN_IN_ADVANCE_KEY, withdrawn);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WITHDRAWN_IN_ADVANCE_KEY);
+            }
+        });
+        return withdrawn;
+    }
+
+    private Map<UUID, Integer> takeWithdrawnInAdvance(Map<UUID, Integer> quantities) {
+        Map<UUID, Integer> withdrawn = withdrawnInAdvance();
+        if (withdrawn == null) {
+            return quantities;
+        }
+        var remaining = new HashMap<UUID, Integer>();
+        quantities.forEach((articleId, quantity) -> {
+            int taken = Math.min(quantity, withdrawn.getOrDefault(articleId, 0));
+            if (taken > 0) {
+                withdrawn.merge(articleId, -taken, (left, claimed) -> left + claimed == 0 ? null : left + claimed);
+            }
+            if (quantity > taken) {
+                remaining.put(articleId, quantity - taken);
+            }
+        });
+        return remaining;
+    }
+
+    /**
+     * An article sharded after the lookup has its stock in the shards and is rejected here rather than
+     * locked out of order; the sale can simply be retried.
+     */
+    private void decreaseArticleRows(SortedMap<UUID, Integer> run) {
+        if (run.isEmpty()) {
+            return;
+        }
+        int[] updatedRows = articleRepository.decreaseStockInBatch(run);
+        int index = 0;
+        for (var entry : run.entrySet()) {
+            if (updatedRows[index++] == 0) {
+                throw rejectedDecrement(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private RuntimeException rejectedDecrement(UUID articleId, Integer quantity) {
+        Article article = articleRepository.findById(articleId)
+                .orElseThrow(() -> new ResourceNotFoundException("Article", "id", articleId));
+        return new StockExhaustedException("Insufficient stock. Requested: " + quantity + ", Available: " + article.getAvailableStock());
+    }
+}
@@ -0,0 +1,89 @@
+package com.inventory.inventorySystem.service;
+
+import com.inventory.inventorySystem.dto.response.ArticleResponse;
+import com.inventory.inventorySystem.exceptions.ResourceNotFoundException;
+import com.inventory.inventorySystem.mapper.interfaces.ArticleMapper;
+import com.inventory.inventorySystem.repository.ArticleRepository;
+import com.inventory.inventorySystem.repository.ArticleStockShardRepository;
+import com.inventory.inventorySystem.service.interfaces.StockShardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockShardServiceImpl implements StockShardService {
+
+    private final ArticleStockShardRepository articleStockShardRepository;
+    private final ArticleRepository articleRepository;
+    private final ArticleMapper articleMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${stock.shards.max-per-article}")
+    private int maxShards;
+
+    @Value("${stock.shards.rebalance-skew}")
+    private int rebalanceSkew;
+
+    /**
+     * Redistributes the whole stock of the article over {@code shardCount} shards; zero merges it back into the article row.
+     */
+    @Override
+    @Transactional
+    public ArticleResponse shardStock(UUID articleId, int shardCount) {
+        if (shardCount < 0 || shardCount > maxShards) {
+            throw new IllegalArgumentException("Shard count must be between 0 and " + maxShards);
+        }
+        List<Integer> stock = articleStockShardRepository.lockStock(articleId);
+        if (stock.isEmpty()) {
+            throw new ResourceNotFoundException("Article", "id", articleId);
+        }
+        articleStockShardRepository.reshard(articleId, total(stock), shardCount);
+
+        return articleRepository.findById(articleId)
+                .map(articleMapper::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Article", "id", articleId));
+    }
+
+    /**
+     * Moves restocked units from the article row into the shards and evens out shards drained by random picks.
+     * Each article is rebalanced in its own short transaction.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${stock.shards.rebalance-interval-ms}")
+    public void rebalanceShards() {
+        for (UUID articleId : articleStockShardRepository.findShardedArticleIds()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> rebalance(articleId));
+            } catch (RuntimeException exception) {
+                log.warn("Rebalancing the stock shards of article {} failed", articleId, exception);
+            }
+        }
+    }
+
+    private void rebalance(UUID articleId) {
+        List<Integer> stock = articleStockShardRepository.lockStock(articleId);
+        if (stock.size() < 2) {
+            return;
+        }
+        List<Integer> shards = stock.subList(1, stock.size());
+        int skew = shards.stream().mapToInt(Integer::intValue).max().orElse(0)
+                - shards.stream().mapToInt(Integer::intValue).min().orElse(0);
+        if (stock.get(0) == 0 && skew <= rebalanceSkew) {
+            return;
+        }
+        articleStockShardRepository.rebalance(articleId, total(stock), shards.size());
+    }
+
+    private int total(List<Integer> stock) {
+        return stock.stream().mapToInt(Integer::intValue).sum();
+    }
+}
@@ -3,14 +3,17 @@ package com.inventory.inventorySystem.service;
 import com.inventory.inventorySystem.dto.request.RegisterRequest;
 import com.inventory.inventorySystem.dto.request.UserRequest;
 import com.inventory.inventorySystem.dto.response.PaginatedResponse;
+import com.inventory.inventorySystem.enums.CountMode;
 import com.inventory.inventorySystem.dto.response.UserResponse;
 import com.inventory.inventorySystem.exceptions.ResourceNotFoundException;
 import com.inventory.inventorySystem.mapper.interfaces.UserMapper;
 import com.inventory.inventorySystem.model.User;
 import com.inventory.inventorySystem.repository.UserRepository;
+import com.inventory.inventorySystem.security.UserChangeEpochs;
+import com.inventory.inventorySystem.security.VerifiedTokenCache;
 import com.inventory.inventorySystem.service.interfaces.UserService;
+import com.inventory.inventorySystem.utils.PaginationSupport;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -24,6 +27,9 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final PaginationSupport paginationSupport;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final UserChangeEpochs userChangeEpochs;
 
     @Override
     public UserResponse saveUser(RegisterRequest registerRequest){
@@ -38,16 +44,21 @@ public class UserServiceImpl implements UserService {
     public UserResponse updateUser(UUID id, UserRequest userRequest){
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+        String previousEmail = user.getEmail();
         userMapper.applyPartialUpdate(user, userRequest);
         userRepository.save(user);
+        userChangeEpochs.markChanged(previousEmail);
+        verifiedTokenCache.evictUser(previousEmail);
         return userMapper.toDto(user);
     }
 
     @Override
-    public PaginatedResponse<UserResponse> getAllUsers(Pageable pageable){
-        Page<User> userPage = userRepository.findAll(pageable);
-        Page<UserResponse> responsePage = userPage.map(userMapper::toDto);
-        return new PaginatedResponse<>(responsePage);
+    public PaginatedResponse<UserResponse> getAllUsers(Pageable pageable, CountMode countMode){
+        return paginationSupport.paginate(countMode, "users",
+                () -> userRepository.findAll(pageable),
+                () -> userRepository.findSliceBy(pageable),
+                userRepository::count,
+                userMapper::toDto);
     }
 
 }
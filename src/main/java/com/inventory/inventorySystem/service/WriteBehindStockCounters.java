@@ -0,0 +1,324 @@
+package com.inventory.inventorySystem.service;
+
+import com.inventory.inventorySystem.exceptions.StockExhaustedException;
+import com.inventory.inventorySystem.model.Article;
+import com.inventory.inventorySystem.repository.ArticleRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Opt-in write-behind mode for the highest-velocity articles. For the configured articles, sales take their
+ * quantities from sharded in-memory counters instead of updating {@code articles.stock}; a scheduled flusher
+ * writes the net delta to the database every {@code flush-interval-ms}. Deltas of committed sales are journaled
+ * locally so that a crash before the flush is replayed on the next start.
+ * <p>
+ * The counters are the source of truth for these articles while the application runs, so the mode assumes
+ * a single application instance. Restocks go through {@link #restock}; direct stock edits of a managed article
+ * are rejected by the article update.
+ */
+@Slf4j
+@Component
+public class WriteBehindStockCounters {
+
+    private static final String CHECKPOINT_EXISTS_SQL = "SELECT COUNT(*) FROM stock_journal_checkpoints WHERE segment = ?";
+    private static final String INSERT_CHECKPOINT_SQL = "INSERT INTO stock_journal_checkpoints (segment) VALUES (?)";
+    private static final String DELETE_CHECKPOINT_SQL = "DELETE FROM stock_journal_checkpoints WHERE segment = ?";
+
+    private final ArticleRepository articleRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Set<UUID> managedArticles;
+    private final int stripes;
+    private final StockJournal journal;
+    private final Timer flushTimer;
+
+    private final Map<UUID, ShardedCounter> counters = new ConcurrentHashMap<>();
+    private final ReadWriteLock flushLock = new ReentrantReadWriteLock();
+    private final List<Path> unflushedSegments = new ArrayList<>();
+
+    // Set when a delta is recorded or a failed flush hands its deltas back; cleared when a flush takes them.
+    private volatile boolean pendingDeltas;
+
+    public WriteBehindStockCounters(ArticleRepository articleRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    JdbcTemplate jdbcTemplate,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${stock.write-behind.enabled}") boolean enabled,
+                                    @Value("${stock.write-behind.articles}") String articles,
+                                    @Value("${stock.write-behind.stripes}") int stripes,
+                                    @Value("${stock.write-behind.journal-dir}") String journalDirectory) {
+        this.articleRepository = articleRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.managedArticles = Arrays.stream(articles.split(","))
+                .map(String::trim)
+                .filter(id -> !id.isEmpty())
+                .map(UUID::fromString)
+                .collect(Collectors.toUnmodifiableSet());
+        this.stripes = stripes;
+        this.journal = new StockJournal(Path.of(journalDirectory));
+        this.flushTimer = Timer.builder("stock.write_behind.flush")
+                .description("Time spent writing buffered stock deltas to the database")
+                .register(meterRegistry);
+        meterRegistry.gauge("stock.write_behind.pending.units", counters,
+                map -> map.values().stream().mapToLong(counter -> counter.pendingDelta.sum()).sum());
+    }
+
+    /**
+     * Replays the journal segments of a previous run, even if the mode has been switched off since,
+     * then loads the counters from the database.
+     */
+    @PostConstruct
+    public void start() {
+        journal.leftoverSegments().forEach(this::replay);
+        if (!enabled || managedArticles.isEmpty()) {
+            return;
+        }
+
+        for (Article article : articleRepository.findAllById(managedArticles)) {
+            counters.put(article.getId(), new ShardedCounter(article.getStock(), stripes));
+        }
+        managedArticles.stream()
+                .filter(id -> !counters.containsKey(id))
+                .forEach(id -> log.warn("Write-behind article {} does not exist and is ignored", id));
+        journal.open();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (counters.isEmpty()) {
+            return;
+        }
+        flush();
+        journal.close();
+    }
+
+    public boolean isManaged(UUID articleId) {
+        return counters.containsKey(articleId);
+    }
+
+    /**
+     * Takes the quantity from the in-memory counter right away, so concurrent sales cannot oversell it. When called
+     * inside a transaction, the delta is journaled and handed to the flusher only after that transaction commits,
+     * and a rollback just gives the units back; a crash can therefore never replay a decrement of a sale that was
+     * not committed. A crash between the commit and the journal write loses that one delta instead.
+     */
+    public void reserve(UUID articleId, int quantity) {
+        ShardedCounter counter = counters.get(articleId);
+        if (!counter.tryTake(quantity)) {
+            throw new StockExhaustedException("Insufficient stock. Requested: " + quantity + ", Available: " + counter.available());
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(articleId, counter, quantity);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    counter.give(quantity);
+                } else {
+                    // STATUS_UNKNOWN keeps the units taken: understating stock is safer than overselling.
+                    record(articleId, counter, quantity);
+                }
+            }
+        });
+    }
+
+    /**
+     * Makes units that were already added to {@code articles.stock} available to the counter once the
+     * restocking transaction commits.
+     */
+    public void restock(UUID articleId, int quantity) {
+        ShardedCounter counter = counters.get(articleId);
+        if (counter != null) {
+            afterCompletion(TransactionSynchronization.STATUS_COMMITTED, () -> counter.give(quantity));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${stock.write-behind.flush-interval-ms}")
+    public void flush() {
+        if (counters.isEmpty()) {
+            return;
+        }
+        var deltas = new HashMap<UUID, Integer>();
+        flushLock.writeLock().lock();
+        try {
+            if (!pendingDeltas) {
+                return;
+            }
+            pendingDeltas = false;
+            counters.forEach((id, counter) -> {
+                int delta = (int) counter.pendingDelta.sumThenReset();
+                if (delta != 0) {
+                    deltas.put(id, delta);
+                }
+            });
+            // After a failed flush the deltas are back in the counters but already in a rotated segment.
+            if (journal.isDirty()) {
+                unflushedSegments.add(journal.rotate());
+            }
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+
+        flushTimer.record(() -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    deltas.forEach((id, delta) -> articleRepository.applyStockDelta(id, delta));
+                    unflushedSegments.forEach(segment -> jdbcTemplate.update(INSERT_CHECKPOINT_SQL, segmentName(segment)));
+                });
+            } catch (RuntimeException exception) {
+                // The deltas go back to the counters and are retried on the next flush; their segment stays on disk.
+                log.warn("Flushing write-behind stock deltas failed, retrying on the next flush", exception);
+                deltas.forEach((id, delta) -> counters.get(id).pendingDelta.add(delta));
+                pendingDeltas = true;
+                return;
+            }
+            unflushedSegments.forEach(this::discard);
+            unflushedSegments.clear();
+        });
+    }
+
+    private void record(UUID articleId, ShardedCounter counter, int quantity) {
+        flushLock.readLock().lock();
+        try {
+            journal.append(articleId, quantity);
+            counter.pendingDelta.add(quantity);
+            pendingDeltas = true;
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * A segment whose checkpoint exists was committed before the crash and only needs to be deleted.
+     */
+    private void replay(Path segment) {
+        String name = segmentName(segment);
+        transactionTemplate.executeWithoutResult(status -> {
+            Integer applied = jdbcTemplate.queryForObject(CHECKPOINT_EXISTS_SQL, Integer.class, name);
+            if (applied != null && applied > 0) {
+                return;
+            }
+            Map<UUID, Integer> deltas = StockJournal.read(segment);
+            log.info("Replaying {} unflushed stock deltas from {}", deltas.size(), name);
+            deltas.forEach(articleRepository::applyStockDelta);
+            jdbcTemplate.update(INSERT_CHECKPOINT_SQL, name);
+        });
+        discard(segment);
+    }
+
+    private void discard(Path segment) {
+        StockJournal.delete(segment);
+        jdbcTemplate.update(DELETE_CHECKPOINT_SQL, segmentName(segment));
+    }
+
+    private String segmentName(Path segment) {
+        return segment.getFileName().toString();
+    }
+
+    private void afterCompletion(int expectedStatus, Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (expectedStatus == TransactionSynchronization.STATUS_COMMITTED) {
+                action.run();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == expectedStatus) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Available units split across stripes so that concurrent sales mostly update different slots.
+     * A quantity larger than one stripe is gathered from the others; if the total is not enough,
+     * everything taken is put back.
+     */
+    private static final class ShardedCounter {
+
+        private final AtomicIntegerArray shards;
+        private final LongAdder pendingDelta = new LongAdder();
+
+        ShardedCounter(int stock, int stripes) {
+            this.shards = new AtomicIntegerArray(stripes);
+            for (int i = 0; i < stripes; i++) {
+                shards.set(i, stock / stripes + (i < stock % stripes ? 1 : 0));
+            }
+        }
+
+        boolean tryTake(int quantity) {
+            int length = shards.length();
+            int start = ThreadLocalRandom.current().nextInt(length);
+            int[] taken = new int[length];
+            int remaining = quantity;
+            for (int i = 0; i < length && remaining > 0; i++) {
+                int index = (start + i) % length;
+                int current = shards.get(index);
+                while (current > 0) {
+                    int take = Math.min(current, remaining);
+                    if (shards.compareAndSet(index, current, current - take)) {
+                        taken[index] = take;
+                        remaining -= take;
+                        break;
+                    }
+                    current = shards.get(index);
+                }
+            }
+            if (remaining > 0) {
+                for (int i = 0; i < length; i++) {
+                    if (taken[i] > 0) {
+                        shards.addAndGet(i, taken[i]);
+                    }
+                }
+                return false;
+            }
+            return true;
+        }
+
+        void give(int quantity) {
+            shards.addAndGet(ThreadLocalRandom.current().nextInt(shards.length()), quantity);
+        }
+
+        int available() {
+            int total = 0;
+            for (int i = 0; i < shards.length(); i++) {
+                total += shards.get(i);
+            }
+            return total;
+        }
+    }
+}
@@ -8,5 +8,5 @@ public interface AuthService {
     AuthResponse registerUser(RegisterRequest registerRequest);
     AuthResponse loginUser(LoginRequest loginRequest);
     AuthResponse refreshToken(String refreshToken);
-    void logout(String authHeader);
+    void logout(String authHeader, String refreshToken);
 }
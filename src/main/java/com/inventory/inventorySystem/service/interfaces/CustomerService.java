@@ -3,6 +3,7 @@ package com.inventory.inventorySystem.service.interfaces;
 import com.inventory.inventorySystem.dto.request.CustomerRequest;
 import com.inventory.inventorySystem.dto.response.CustomerResponse;
 import com.inventory.inventorySystem.dto.response.PaginatedResponse;
+import com.inventory.inventorySystem.enums.CountMode;
 import org.springframework.data.domain.Pageable;
 
 import java.util.UUID;
@@ -10,5 +11,5 @@ import java.util.UUID;
 public interface CustomerService {
     CustomerResponse registerCustomer(CustomerRequest customerRequest);
     CustomerResponse updateCustomer(UUID id, CustomerRequest customerRequest);
-    PaginatedResponse<CustomerResponse> getAllCustomers(String name, Pageable pageable);
+    PaginatedResponse<CustomerResponse> getAllCustomers(String name, Pageable pageable, CountMode countMode);
 }
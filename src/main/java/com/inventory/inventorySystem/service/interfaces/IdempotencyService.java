@@ -0,0 +1,7 @@
+package com.inventory.inventorySystem.service.interfaces;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+    <T> T execute(String idempotencyKey, String principal, String scope, Object request, Class<T> responseType, Supplier<T> action);
+}
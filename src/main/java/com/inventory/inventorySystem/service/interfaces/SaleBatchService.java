@@ -0,0 +1,10 @@
+package com.inventory.inventorySystem.service.interfaces;
+
+import com.inventory.inventorySystem.dto.request.SaleRequest;
+import com.inventory.inventorySystem.dto.response.SaleBatchResponse;
+
+import java.util.List;
+
+public interface SaleBatchService {
+    SaleBatchResponse registerSales(List<SaleRequest> saleRequests);
+}
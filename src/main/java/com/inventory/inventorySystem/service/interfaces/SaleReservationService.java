@@ -0,0 +1,8 @@
+package com.inventory.inventorySystem.service.interfaces;
+
+import java.util.UUID;
+
+public interface SaleReservationService {
+    void reserve(UUID saleId);
+    void confirm(UUID saleId);
+}
@@ -2,7 +2,9 @@ package com.inventory.inventorySystem.service.interfaces;
 
 import com.inventory.inventorySystem.dto.request.SaleRequest;
 import com.inventory.inventorySystem.dto.response.CompleteSaleResponse;
+import com.inventory.inventorySystem.dto.response.CursorPaginatedResponse;
 import com.inventory.inventorySystem.dto.response.PaginatedResponse;
+import com.inventory.inventorySystem.enums.CountMode;
 import com.inventory.inventorySystem.dto.response.SaleResponse;
 import org.springframework.data.domain.Pageable;
 
@@ -10,5 +12,6 @@ import java.time.LocalDate;
 
 public interface SaleService {
     CompleteSaleResponse registerSale(SaleRequest saleRequest);
-    PaginatedResponse<SaleResponse> getAllSales(LocalDate startDate, LocalDate endDate, String customerName, Pageable pageable);
+    PaginatedResponse<SaleResponse> getAllSales(LocalDate startDate, LocalDate endDate, String customerName, Pageable pageable, CountMode countMode);
+    CursorPaginatedResponse<SaleResponse> getSalesAfter(LocalDate startDate, LocalDate endDate, String cursor, int size);
 }
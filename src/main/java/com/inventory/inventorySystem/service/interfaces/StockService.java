@@ -0,0 +1,15 @@
+package com.inventory.inventorySystem.service.interfaces;
+
+import com.inventory.inventorySystem.model.Article;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+public interface StockService {
+    void withdrawStock(Map<UUID, Integer> quantities);
+    void withdrawStockInAdvance(Map<UUID, Integer> quantities);
+    int withdrawnInAdvance(UUID articleId);
+    void lockStock(Collection<UUID> articleIds);
+    Map<UUID, Article> increaseStock(Map<UUID, Integer> quantities);
+}
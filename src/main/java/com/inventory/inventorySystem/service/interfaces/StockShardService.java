@@ -0,0 +1,10 @@
+package com.inventory.inventorySystem.service.interfaces;
+
+import com.inventory.inventorySystem.dto.response.ArticleResponse;
+
+import java.util.UUID;
+
+public interface StockShardService {
+    ArticleResponse shardStock(UUID articleId, int shardCount);
+    void rebalanceShards();
+}
@@ -0,0 +1,88 @@
+package com.inventory.inventorySystem.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hashed timing wheel keyed by an identifier. Scheduling and cancelling are O(1); every call to
+ * {@link #advance()} moves the wheel one tick and only visits the entries of the current bucket.
+ * Delays longer than one revolution are kept in their bucket with a remaining-rounds counter.
+ */
+public class HashedTimingWheel<K> {
+
+    private final List<Set<Entry<K>>> buckets;
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+    private int cursor;
+
+    public HashedTimingWheel(int wheelSize) {
+        if (wheelSize < 1) {
+            throw new IllegalArgumentException("Wheel size must be at least 1");
+        }
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new LinkedHashSet<>());
+        }
+    }
+
+    /**
+     * Schedules the key to expire after the given number of ticks (at least one), replacing any previous schedule.
+     */
+    public synchronized void schedule(K key, long delayTicks) {
+        cancel(key);
+        long ticks = Math.max(1, delayTicks);
+        int bucket = (int) ((cursor + ticks) % buckets.size());
+        var entry = new Entry<>(key, bucket, (ticks - 1) / buckets.size());
+        buckets.get(bucket).add(entry);
+        entries.put(key, entry);
+    }
+
+    public synchronized boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        buckets.get(entry.bucket).remove(entry);
+        return true;
+    }
+
+    /**
+     * Moves the wheel one tick forward and returns the keys that expired on it.
+     */
+    public synchronized List<K> advance() {
+        cursor = (cursor + 1) % buckets.size();
+        var expired = new ArrayList<K>();
+        Iterator<Entry<K>> iterator = buckets.get(cursor).iterator();
+        while (iterator.hasNext()) {
+            Entry<K> entry = iterator.next();
+            if (entry.remainingRounds > 0) {
+                entry.remainingRounds--;
+                continue;
+            }
+            iterator.remove();
+            entries.remove(entry.key);
+            expired.add(entry.key);
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static final class Entry<K> {
+        private final K key;
+        private final int bucket;
+        private long remainingRounds;
+
+        private Entry(K key, int bucket, long remainingRounds) {
+            this.key = key;
+            this.bucket = bucket;
+            this.remainingRounds = remainingRounds;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.inventory.inventorySystem.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last row of a keyset page, exchanged with clients as an opaque URL-safe token.
+ */
+public record KeysetCursor(LocalDateTime date, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String position = date + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = position.indexOf(SEPARATOR);
+            return new KeysetCursor(
+                    LocalDateTime.parse(position.substring(0, separator)),
+                    UUID.fromString(position.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException exception) {
+            throw new IllegalArgumentException("Invalid pagination cursor");
+        }
+    }
+}
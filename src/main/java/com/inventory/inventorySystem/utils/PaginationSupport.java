@@ -0,0 +1,59 @@
+package com.inventory.inventorySystem.utils;
+
+import com.inventory.inventorySystem.dto.response.PaginatedResponse;
+import com.inventory.inventorySystem.enums.CountMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Builds listing responses in the count mode chosen by the client. EXACT runs the Page query and its COUNT,
+ * NONE runs a Slice query and only reports hasNext, and CACHED runs a Slice query and reuses a total that is
+ * at most {@code pagination.count-cache.ttl-seconds} old.
+ */
+@Component
+public class PaginationSupport {
+
+    private final LruCache<String, CachedCount> cachedCounts;
+    private final long ttlNanos;
+
+    public PaginationSupport(@Value("${pagination.count-cache.max-entries}") int maxEntries,
+                             @Value("${pagination.count-cache.ttl-seconds}") long ttlSeconds) {
+        this.cachedCounts = new LruCache<>(maxEntries);
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+    }
+
+    /**
+     * @param countKey identifies the listing and its filters, e.g. {@code "articles:name=Rice"}
+     */
+    public <E, T> PaginatedResponse<T> paginate(CountMode countMode, String countKey,
+                                                Supplier<Page<E>> pageQuery,
+                                                Supplier<Slice<E>> sliceQuery,
+                                                LongSupplier countQuery,
+                                                Function<E, T> mapper) {
+        return switch (countMode) {
+            case EXACT -> new PaginatedResponse<>(pageQuery.get().map(mapper));
+            case NONE -> new PaginatedResponse<>(sliceQuery.get().map(mapper), null, CountMode.NONE);
+            case CACHED -> new PaginatedResponse<>(sliceQuery.get().map(mapper), cachedCount(countKey, countQuery), CountMode.CACHED);
+        };
+    }
+
+    private long cachedCount(String countKey, LongSupplier countQuery) {
+        CachedCount cached = cachedCounts.get(countKey);
+        if (cached != null && System.nanoTime() - cached.loadedAt() < ttlNanos) {
+            return cached.total();
+        }
+        long total = countQuery.getAsLong();
+        cachedCounts.put(countKey, new CachedCount(total, System.nanoTime()));
+        return total;
+    }
+
+    private record CachedCount(long total, long loadedAt) {
+    }
+}
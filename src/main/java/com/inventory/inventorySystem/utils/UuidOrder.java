@@ -0,0 +1,19 @@
+package com.inventory.inventorySystem.utils;
+
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * PostgreSQL compares uuid values byte by byte as unsigned numbers, while {@link UUID#compareTo} compares
+ * two signed longs; the two disagree whenever the top bit of either half differs. Code that must lock
+ * articles in the same sequence as the database orders ids with {@link #DATABASE}.
+ */
+public final class UuidOrder {
+
+    public static final Comparator<UUID> DATABASE = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    private UuidOrder() {
+    }
+}
@@ -0,0 +1,7 @@
+-- ==========================================================
+-- V10__add_sales_date_id_index.sql
+-- Supports keyset pagination of the sales listing, which
+-- seeks on (date, id_sale) instead of skipping an offset.
+-- ==========================================================
+
+CREATE INDEX idx_sales_date_id_sale ON public.sales USING btree (date, id_sale);
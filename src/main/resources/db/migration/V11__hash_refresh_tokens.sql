@@ -0,0 +1,26 @@
+-- ==========================================================
+-- V11__hash_refresh_tokens.sql
+-- Stores refresh tokens as SHA-256 digests behind a unique
+-- index instead of the raw JWT in an unindexed TEXT column,
+-- and allows one row per session so several devices of the
+-- same user can stay signed in.
+-- ==========================================================
+
+ALTER TABLE public.tokens ADD COLUMN token_hash bytea;
+ALTER TABLE public.tokens ADD COLUMN expires_at timestamp without time zone;
+
+-- sha256() is built in since PostgreSQL 11; the application hashes the UTF-8 bytes the same way.
+UPDATE public.tokens SET token_hash = sha256(convert_to(token, 'UTF8'));
+
+-- The refresh JWT still carries its own exp; this bound only lets the cleanup job reclaim pre-existing rows.
+UPDATE public.tokens
+SET expires_at = CASE WHEN revoked OR expired THEN now() ELSE now() + interval '7 days' END;
+
+ALTER TABLE public.tokens ALTER COLUMN token_hash SET NOT NULL;
+ALTER TABLE public.tokens ALTER COLUMN expires_at SET NOT NULL;
+ALTER TABLE public.tokens ADD CONSTRAINT chk_tokens_token_hash_length CHECK (octet_length(token_hash) = 32);
+ALTER TABLE public.tokens DROP COLUMN token;
+
+CREATE UNIQUE INDEX uq_tokens_token_hash ON public.tokens USING btree (token_hash);
+CREATE INDEX idx_tokens_id_user ON public.tokens USING btree (id_user);
+CREATE INDEX idx_tokens_expires_at ON public.tokens USING btree (expires_at);
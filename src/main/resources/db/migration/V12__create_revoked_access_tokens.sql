@@ -0,0 +1,15 @@
+-- ==========================================================
+-- V12__create_revoked_access_tokens.sql
+-- Access tokens revoked before their expiry, by token id
+-- (jti). Each instance loads the live rows into memory at
+-- startup; rows are deleted once the token has expired.
+-- ==========================================================
+
+CREATE TABLE public.revoked_access_tokens (
+    jti uuid NOT NULL,
+    expires_at timestamp without time zone NOT NULL,
+    revoked_at timestamp without time zone DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT revoked_access_tokens_pkey PRIMARY KEY (jti)
+);
+
+CREATE INDEX idx_revoked_access_tokens_expires_at ON public.revoked_access_tokens USING btree (expires_at);
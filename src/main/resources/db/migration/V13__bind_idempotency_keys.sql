@@ -0,0 +1,18 @@
+-- ==========================================================
+-- V13__bind_idempotency_keys.sql
+-- Idempotency keys are now stored as a digest of the scope,
+-- the target resource, the authenticated user and the client
+-- key, together with a digest of the request body. Rows
+-- written with the old unbound format can never be matched
+-- again and are removed. created_at is indexed for the
+-- retention job.
+-- ==========================================================
+
+DELETE FROM public.idempotency_keys;
+
+ALTER TABLE public.idempotency_keys ADD COLUMN request_hash bytea NOT NULL;
+
+ALTER TABLE public.idempotency_keys
+    ADD CONSTRAINT idempotency_keys_request_hash_check CHECK (octet_length(request_hash) = 32);
+
+CREATE INDEX idx_idempotency_keys_created_at ON public.idempotency_keys USING btree (created_at);
@@ -0,0 +1,12 @@
+-- ==========================================================
+-- V15__guard_article_stock.sql
+-- Every stock write is a single guarded statement: sales use
+-- "stock = stock - ? WHERE ... AND stock >= ?" and restocks
+-- check the affected row count. The constraint makes the same
+-- guard hold for every other writer of articles.stock, as
+-- article_stock_shards already does. Existing rows are not
+-- re-checked (NOT VALID); new writes are.
+-- ==========================================================
+
+ALTER TABLE public.articles
+    ADD CONSTRAINT chk_articles_stock CHECK (stock >= 0) NOT VALID;
@@ -0,0 +1,96 @@
+-- ==========================================================
+-- V16__reject_empty_sales_in_register_sale.sql
+-- register_sale accepted an empty p_lines array: SUM over no
+-- lines made total_sale NULL and the sales insert failed with
+-- a raw NOT NULL violation. The routine now rejects an empty
+-- or missing line list up front with SQLSTATE IN400, which
+-- the application maps to a 400 response. The rest of the
+-- function is unchanged from V14.
+-- ==========================================================
+
+CREATE OR REPLACE FUNCTION public.register_sale(p_user uuid, p_customer uuid, p_lines jsonb)
+RETURNS TABLE (
+    id_sale uuid,
+    sale_date timestamp without time zone,
+    total_sale numeric(10,2),
+    status public.sale_status,
+    id_customer uuid,
+    customer_name character varying,
+    id_user uuid,
+    user_name character varying,
+    id_sale_detail uuid,
+    quantity integer,
+    unit_price numeric(10,2),
+    subtotal numeric(10,2),
+    id_article uuid,
+    article_name character varying
+)
+LANGUAGE plpgsql
+AS $$
+#variable_conflict use_column
+DECLARE
+    v_sale uuid := gen_random_uuid();
+    v_line record;
+    v_available integer;
+BEGIN
+    IF COALESCE(jsonb_array_length(p_lines), 0) = 0 THEN
+        RAISE EXCEPTION USING ERRCODE = 'IN400', MESSAGE = 'Sale must have at least one detail';
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM public.users u WHERE u.id_user = p_user) THEN
+        RAISE EXCEPTION USING ERRCODE = 'IN404', MESSAGE = 'User', DETAIL = p_user::text;
+    END IF;
+
+    IF p_customer IS NOT NULL AND NOT EXISTS (SELECT 1 FROM public.customers c WHERE c.id_customer = p_customer) THEN
+        RAISE EXCEPTION USING ERRCODE = 'IN404', MESSAGE = 'Customer', DETAIL = p_customer::text;
+    END IF;
+
+    -- Quantities are merged per article and applied in id order so that concurrent sales lock rows in the same sequence;
+    -- a sharded article is resolved completely at its own position in that order.
+    FOR v_line IN
+        SELECT (l ->> 'articleId')::uuid AS article_id, SUM((l ->> 'quantity')::integer)::integer AS requested
+        FROM jsonb_array_elements(p_lines) AS l
+        GROUP BY 1
+        ORDER BY 1
+    LOOP
+        IF EXISTS (SELECT 1 FROM public.article_stock_shards s WHERE s.id_article = v_line.article_id) THEN
+            CONTINUE WHEN public.take_sharded_stock(v_line.article_id, v_line.requested);
+        ELSE
+            UPDATE public.articles a
+            SET stock = a.stock - v_line.requested, version = a.version + 1
+            WHERE a.id_article = v_line.article_id AND a.stock >= v_line.requested;
+            CONTINUE WHEN FOUND;
+        END IF;
+
+        SELECT a.stock + COALESCE((SELECT SUM(s.stock) FROM public.article_stock_shards s WHERE s.id_article = a.id_article), 0)
+        INTO v_available
+        FROM public.articles a
+        WHERE a.id_article = v_line.article_id;
+        IF NOT FOUND THEN
+            RAISE EXCEPTION USING ERRCODE = 'IN404', MESSAGE = 'Article', DETAIL = v_line.article_id::text;
+        END IF;
+        RAISE EXCEPTION USING ERRCODE = 'IN409',
+            MESSAGE = format('Insufficient stock. Requested: %s, Available: %s', v_line.requested, v_available);
+    END LOOP;
+
+    INSERT INTO public.sales (id_sale, total_sale, amount_paid, status, id_customer, id_user)
+    SELECT v_sale, SUM((l ->> 'quantity')::integer * a.unit_price), 0, 'PENDING', p_customer, p_user
+    FROM jsonb_array_elements(p_lines) AS l
+    JOIN public.articles a ON a.id_article = (l ->> 'articleId')::uuid;
+
+    INSERT INTO public.sale_details (id_sale_detail, quantity, unit_price, id_sale, id_article)
+    SELECT gen_random_uuid(), (l ->> 'quantity')::integer, a.unit_price, v_sale, a.id_article
+    FROM jsonb_array_elements(p_lines) AS l
+    JOIN public.articles a ON a.id_article = (l ->> 'articleId')::uuid;
+
+    RETURN QUERY
+    SELECT s.id_sale, s.date, s.total_sale, s.status, c.id_customer, c.name, u.id_user, u.full_name,
+           d.id_sale_detail, d.quantity, d.unit_price, d.subtotal, a.id_article, a.name
+    FROM public.sales s
+    JOIN public.users u ON u.id_user = s.id_user
+    LEFT JOIN public.customers c ON c.id_customer = s.id_customer
+    JOIN public.sale_details d ON d.id_sale = s.id_sale
+    JOIN public.articles a ON a.id_article = d.id_article
+    WHERE s.id_sale = v_sale;
+END;
+$$;
@@ -0,0 +1,14 @@
+-- ==========================================================
+-- V3__create_idempotency_keys.sql
+-- Stores the response of every request sent with an
+-- Idempotency-Key header so that client retries are replayed
+-- instead of being executed again.
+-- ==========================================================
+
+CREATE TABLE public.idempotency_keys (
+    idempotency_key character varying(150) NOT NULL,
+    response_body text NOT NULL,
+    created_at timestamp without time zone DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+ALTER TABLE ONLY public.idempotency_keys ADD CONSTRAINT idempotency_keys_pkey PRIMARY KEY (idempotency_key);
@@ -0,0 +1,16 @@
+-- ==========================================================
+-- V4__add_sales_amount_paid.sql
+-- Keeps a running total of the payments of each sale so that
+-- registering a payment no longer sums every previous one.
+-- ==========================================================
+
+ALTER TABLE public.sales ADD COLUMN amount_paid numeric(10,2) DEFAULT 0 NOT NULL;
+
+UPDATE public.sales s
+SET amount_paid = p.total_paid
+FROM (
+    SELECT id_sale, SUM(amount_paid) AS total_paid
+    FROM public.sale_payments
+    GROUP BY id_sale
+) p
+WHERE s.id_sale = p.id_sale;
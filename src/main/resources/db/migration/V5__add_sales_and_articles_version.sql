@@ -0,0 +1,9 @@
+-- ==========================================================
+-- V5__add_sales_and_articles_version.sql
+-- Adds optimistic locking version columns to the rows that
+-- cashiers update concurrently.
+-- ==========================================================
+
+ALTER TABLE public.sales ADD COLUMN version bigint DEFAULT 0 NOT NULL;
+
+ALTER TABLE public.articles ADD COLUMN version bigint DEFAULT 0 NOT NULL;
@@ -0,0 +1,12 @@
+-- ==========================================================
+-- V7__create_stock_journal_checkpoints.sql
+-- Records the write-behind journal segments whose stock
+-- deltas were committed, so a crash between the commit and
+-- the deletion of the segment never applies it twice.
+-- ==========================================================
+
+CREATE TABLE public.stock_journal_checkpoints (
+    segment character varying(100) NOT NULL,
+    applied_at timestamp without time zone DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT stock_journal_checkpoints_pkey PRIMARY KEY (segment)
+);
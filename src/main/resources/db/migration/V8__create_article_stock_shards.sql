@@ -0,0 +1,18 @@
+-- ==========================================================
+-- V8__create_article_stock_shards.sql
+-- Splits the stock of contended articles across several rows.
+-- The stock of an article is articles.stock plus the sum of
+-- its shards; restocks land on articles.stock and are spread
+-- over the shards by the rebalancing job.
+-- ==========================================================
+
+CREATE TABLE public.article_stock_shards (
+    id_article uuid NOT NULL,
+    shard smallint NOT NULL,
+    stock integer NOT NULL,
+    CONSTRAINT article_stock_shards_pkey PRIMARY KEY (id_article, shard),
+    CONSTRAINT chk_article_stock_shards_stock CHECK (stock >= 0)
+);
+
+ALTER TABLE ONLY public.article_stock_shards
+    ADD CONSTRAINT article_stock_shards_id_article_fkey FOREIGN KEY (id_article) REFERENCES public.articles(id_article) ON DELETE CASCADE;
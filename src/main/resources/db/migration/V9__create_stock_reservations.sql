@@ -0,0 +1,18 @@
+-- ==========================================================
+-- V9__create_stock_reservations.sql
+-- Pending sales hold their stock for a limited time. A sale
+-- that receives no payment before expires_at is marked as
+-- EXPIRED and its quantities return to stock.
+-- ==========================================================
+
+ALTER TYPE public.sale_status ADD VALUE IF NOT EXISTS 'EXPIRED';
+
+CREATE TABLE public.stock_reservations (
+    id_sale uuid NOT NULL,
+    expires_at timestamp without time zone NOT NULL,
+    created_at timestamp without time zone DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT stock_reservations_pkey PRIMARY KEY (id_sale)
+);
+
+ALTER TABLE ONLY public.stock_reservations
+    ADD CONSTRAINT stock_reservations_id_sale_fkey FOREIGN KEY (id_sale) REFERENCES public.sales(id_sale) ON DELETE CASCADE;
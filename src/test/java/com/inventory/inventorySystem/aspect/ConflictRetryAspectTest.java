@@ -0,0 +1,95 @@
+package com.inventory.inventorySystem.aspect;
+
+import com.inventory.inventorySystem.dto.request.ArticleRequest;
+import com.inventory.inventorySystem.exceptions.ConcurrentUpdateException;
+import com.inventory.inventorySystem.mapper.interfaces.ArticleMapper;
+import com.inventory.inventorySystem.model.Article;
+import com.inventory.inventorySystem.repository.ArticleRepository;
+import com.inventory.inventorySystem.service.ArticleNearCache;
+import com.inventory.inventorySystem.service.ArticleServiceImpl;
+import com.inventory.inventorySystem.service.interfaces.ArticleService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConflictRetryAspectTest {
+
+    private static final UUID ARTICLE_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private ArticleMapper articleMapper;
+
+    @Mock
+    private ArticleNearCache articleNearCache;
+
+    @InjectMocks
+    private ArticleServiceImpl articleServiceImpl;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Article article = new Article();
+    private ArticleService articleService;
+
+    @BeforeEach
+    void setUp() {
+        var aspect = new ConflictRetryAspect(meterRegistry);
+        ReflectionTestUtils.setField(aspect, "maxAttempts", 3);
+        ReflectionTestUtils.setField(aspect, "backoffMs", 0L);
+        var proxyFactory = new AspectJProxyFactory(articleServiceImpl);
+        proxyFactory.addAspect(aspect);
+        articleService = proxyFactory.getProxy();
+        when(articleRepository.findById(ARTICLE_ID)).thenReturn(Optional.of(article));
+    }
+
+    @Test
+    void updateArticle_ShouldReloadAndRetryAfterOneConflict() {
+        // Arrange
+        when(articleRepository.save(article))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Article.class, ARTICLE_ID))
+                .thenReturn(article);
+
+        // Act
+        articleService.updateArticle(ARTICLE_ID, request());
+
+        // Assert
+        verify(articleRepository, times(2)).findById(ARTICLE_ID);
+        verify(articleRepository, times(2)).save(article);
+        assertEquals(1.0, meterRegistry.get("conflict_retry.retries").counter().count());
+    }
+
+    @Test
+    void updateArticle_ShouldReturnConflictWhenAttemptsRunOut() {
+        // Arrange
+        when(articleRepository.save(article))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Article.class, ARTICLE_ID));
+
+        // Act & Assert
+        assertThrows(ConcurrentUpdateException.class, () -> articleService.updateArticle(ARTICLE_ID, request()));
+        verify(articleRepository, times(3)).save(article);
+        assertEquals(3.0, meterRegistry.get("conflict_retry.conflicts").counter().count());
+    }
+
+    private static ArticleRequest request() {
+        return new ArticleRequest("Rice", BigDecimal.TEN, null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,68 @@
+package com.inventory.inventorySystem.benchmark;
+
+import com.inventory.inventorySystem.enums.BulkInsertStrategy;
+import com.inventory.inventorySystem.model.Article;
+import com.inventory.inventorySystem.model.Sale;
+import com.inventory.inventorySystem.model.SaleDetail;
+import com.inventory.inventorySystem.repository.ArticleRepository;
+import com.inventory.inventorySystem.repository.DetailBulkInserter;
+import com.inventory.inventorySystem.repository.SaleRepository;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Measures rows/sec of each detail insert strategy against the configured PostgreSQL database.
+ * Every run is rolled back. Run with {@code mvn test -Dtest=DetailBulkInsertBenchmark -Dbenchmark=true}.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class DetailBulkInsertBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 20_000);
+
+    @Autowired
+    private DetailBulkInserter detailBulkInserter;
+
+    @Autowired
+    private SaleRepository saleRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @ParameterizedTest
+    @EnumSource(value = BulkInsertStrategy.class, names = {"JDBC_BATCH", "COPY"})
+    void insertSaleDetails(BulkInsertStrategy strategy) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Sale> sales = saleRepository.findAll(PageRequest.of(0, 1)).getContent();
+            List<Article> articles = articleRepository.findAll(PageRequest.of(0, 1)).getContent();
+            assumeFalse(sales.isEmpty() || articles.isEmpty(), "Benchmark needs at least one sale and one article");
+
+            var details = new ArrayList<SaleDetail>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                details.add(new SaleDetail(null, 1, BigDecimal.ONE, sales.get(0), articles.get(0), BigDecimal.ONE));
+            }
+
+            long start = System.nanoTime();
+            detailBulkInserter.insertSaleDetails(details, strategy);
+            saleRepository.flush();
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            System.out.printf("%s: %d rows in %.3f s (%.0f rows/sec)%n", strategy, ROWS, seconds, ROWS / seconds);
+            status.setRollbackOnly();
+        });
+    }
+}
@@ -0,0 +1,97 @@
+package com.inventory.inventorySystem.benchmark;
+
+import com.inventory.inventorySystem.dto.response.UserResponse;
+import com.inventory.inventorySystem.enums.UserRole;
+import com.inventory.inventorySystem.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access tokens issued and verified per second by {@link JwtTokenProvider}, including verification of a token
+ * signed with a rotated-out key. Runs only on demand:
+ * <pre>
+ * mvn test -Dtest=JwtTokenBenchmark -Dbenchmark=true
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JwtTokenBenchmark {
+
+    private JwtTokenProvider jwtTokenProvider;
+    private UserResponse user;
+    private String currentKeyToken;
+    private String previousKeyToken;
+
+    @Setup
+    public void setUp() {
+        String previousSecret = randomSecret();
+        String currentSecret = randomSecret();
+        user = new UserResponse(UUID.randomUUID(), "benchmark", "Benchmark User", "benchmark@store.com",
+                UserRole.CASHIER, LocalDateTime.now(), true);
+
+        var previousProvider = new JwtTokenProvider(previousSecret, "previous", "", 900_000, 604_800_000);
+        previousKeyToken = previousProvider.generateAccessToken(user);
+
+        jwtTokenProvider = new JwtTokenProvider(currentSecret, "current", "previous:" + previousSecret, 900_000, 604_800_000);
+        currentKeyToken = jwtTokenProvider.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public String issueAccessToken() {
+        return jwtTokenProvider.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public Claims verifyAccessToken() {
+        return jwtTokenProvider.verifyAccessToken(currentKeyToken);
+    }
+
+    @Benchmark
+    public Claims verifyPreviousKeyToken() {
+        return jwtTokenProvider.verifyAccessToken(previousKeyToken);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void run() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtTokenBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new JwtTokenBenchmark().run();
+    }
+
+    private static String randomSecret() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        return Base64.getEncoder().encodeToString(secret);
+    }
+}
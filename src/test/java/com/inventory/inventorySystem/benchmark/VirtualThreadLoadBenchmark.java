@@ -0,0 +1,115 @@
+package com.inventory.inventorySystem.benchmark;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Throughput of {@code registerSale} and {@code getAllArticles} against the configured database. Run it once
+ * per execution mode and compare the printed requests/sec:
+ * <pre>
+ * mvn test -Dtest=VirtualThreadLoadBenchmark -Dbenchmark=true -Dspring.threads.virtual.enabled=false ...
+ * mvn test -Dtest=VirtualThreadLoadBenchmark -Dbenchmark=true -Dspring.threads.virtual.enabled=true ...
+ * </pre>
+ * Requires {@code benchmark.email}, {@code benchmark.password}, {@code benchmark.user-id} and a
+ * {@code benchmark.article-id} with enough stock for the sales. Add {@code -Djdk.tracePinnedThreads=short}
+ * to report carrier-thread pinning in the virtual mode.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VirtualThreadLoadBenchmark {
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 200);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 5_000);
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled}")
+    private boolean virtualThreads;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private String authorization;
+
+    @BeforeEach
+    void login() throws Exception {
+        String email = System.getProperty("benchmark.email");
+        String password = System.getProperty("benchmark.password");
+        assumeTrue(email != null && password != null, "Benchmark needs benchmark.email and benchmark.password");
+
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/api/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"%s\",\"password\":\"%s\"}".formatted(email, password)))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        authorization = response.headers().firstValue("Authorization").orElseThrow();
+    }
+
+    @Test
+    void getAllArticles() throws Exception {
+        run("getAllArticles", () -> HttpRequest.newBuilder(uri("/api/v1/articles?page=0&size=10"))
+                .header("Authorization", authorization)
+                .GET()
+                .build());
+    }
+
+    @Test
+    void registerSale() throws Exception {
+        String userId = System.getProperty("benchmark.user-id");
+        String articleId = System.getProperty("benchmark.article-id");
+        assumeTrue(userId != null && articleId != null, "Benchmark needs benchmark.user-id and benchmark.article-id");
+
+        String body = "{\"userId\":\"%s\",\"details\":[{\"articleId\":\"%s\",\"quantity\":1}]}".formatted(userId, articleId);
+        run("registerSale", () -> HttpRequest.newBuilder(uri("/api/v1/sales"))
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+    }
+
+    private void run(String name, Supplier<HttpRequest> request) throws Exception {
+        var remaining = new AtomicInteger(REQUESTS);
+        var failures = new AtomicInteger();
+        long start = System.nanoTime();
+        try (var workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            var futures = new ArrayList<Future<?>>(CONCURRENCY);
+            for (int i = 0; i < CONCURRENCY; i++) {
+                futures.add(workers.submit(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        HttpResponse<Void> response = client.send(request.get(), HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("%s [%s threads]: %d requests in %.2f s (%.0f req/s, %d failed)%n",
+                name, virtualThreads ? "virtual" : "platform", REQUESTS, seconds, REQUESTS / seconds, failures.get());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,113 @@
+package com.inventory.inventorySystem.repository;
+
+import com.inventory.inventorySystem.dto.response.SaleResponse;
+import com.inventory.inventorySystem.enums.SaleStatus;
+import com.inventory.inventorySystem.enums.UserRole;
+import com.inventory.inventorySystem.model.Customer;
+import com.inventory.inventorySystem.model.Sale;
+import com.inventory.inventorySystem.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class SaleRepositoryTest {
+
+    private static final int SALES = 12;
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10, Sort.by("date"));
+
+    @Autowired
+    private SaleRepository saleRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < SALES; i++) {
+            User user = new User();
+            user.setUserName("cashier" + i);
+            user.setFullName("Cashier " + i);
+            user.setEmail("cashier" + i + "@store.com");
+            user.setRole(UserRole.CASHIER);
+            user.setPassword("secret");
+            user.setStatus(true);
+            entityManager.persist(user);
+
+            Customer customer = new Customer();
+            customer.setName(i % 2 == 0 ? "Ana" : "Luis");
+            customer.setLastName("Perez");
+            customer.setPhone("555-000" + i);
+            entityManager.persist(customer);
+
+            Sale sale = new Sale();
+            sale.setUser(user);
+            sale.setCustomer(customer);
+            sale.setTotalSale(BigDecimal.TEN);
+            sale.setAmountPaid(BigDecimal.ZERO);
+            sale.setStatus(SaleStatus.PENDING);
+            entityManager.persist(sale);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAllResponses_loadsPageWithOneSelectAndOneCount() {
+        // Act
+        Page<SaleResponse> page = saleRepository.findAllResponses(FIRST_PAGE);
+        page.forEach(sale -> assertNotNull(sale.userName()));
+
+        // Assert
+        assertEquals(10, page.getNumberOfElements());
+        assertEquals(SALES, page.getTotalElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findResponsesByCustomerName_fetchesNamesInTheMainQuery() {
+        // Act
+        Page<SaleResponse> page = saleRepository.findResponsesByCustomerName("Ana", PageRequest.of(0, 4, Sort.by("date")));
+
+        // Assert
+        assertEquals(4, page.getNumberOfElements());
+        assertEquals(SALES / 2, page.getTotalElements());
+        assertTrue(page.stream().allMatch(sale -> "Ana".equals(sale.customerName()) && sale.userName() != null));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findResponseSliceByDateBetween_loadsPageWithSingleStatement() {
+        // Act
+        Slice<SaleResponse> slice = saleRepository.findResponseSliceByDateBetween(
+                LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1), FIRST_PAGE);
+
+        // Assert
+        assertEquals(10, slice.getNumberOfElements());
+        assertTrue(slice.hasNext());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,66 @@
+package com.inventory.inventorySystem.security;
+
+import com.inventory.inventorySystem.model.RevokedAccessToken;
+import com.inventory.inventorySystem.repository.RevokedAccessTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccessTokenDenylistTest {
+
+    @Mock
+    private RevokedAccessTokenRepository revokedAccessTokenRepository;
+
+    private AccessTokenDenylist accessTokenDenylist;
+
+    @BeforeEach
+    void setUp() {
+        accessTokenDenylist = new AccessTokenDenylist(revokedAccessTokenRepository, new SimpleMeterRegistry(), 100, 0.01);
+    }
+
+    @Test
+    void revoke_ShouldPersistAndRejectOnlyTheRevokedToken() {
+        // Arrange
+        String revokedId = UUID.randomUUID().toString();
+        String activeId = UUID.randomUUID().toString();
+
+        // Act
+        accessTokenDenylist.revoke(revokedId, new Date(System.currentTimeMillis() + 60_000));
+
+        // Assert
+        assertTrue(accessTokenDenylist.isRevoked(revokedId));
+        assertFalse(accessTokenDenylist.isRevoked(activeId));
+        assertFalse(accessTokenDenylist.isRevoked(null));
+        verify(revokedAccessTokenRepository).save(any(RevokedAccessToken.class));
+    }
+
+    @Test
+    void reload_ShouldRestorePersistedRevocations() {
+        // Arrange
+        UUID tokenId = UUID.randomUUID();
+        when(revokedAccessTokenRepository.findByExpiresAtAfter(any()))
+                .thenReturn(List.of(new RevokedAccessToken(tokenId, LocalDateTime.now().plusMinutes(5))));
+
+        // Act
+        accessTokenDenylist.reload();
+
+        // Assert
+        assertTrue(accessTokenDenylist.isRevoked(tokenId.toString()));
+        verify(revokedAccessTokenRepository).deleteExpired(any());
+    }
+}
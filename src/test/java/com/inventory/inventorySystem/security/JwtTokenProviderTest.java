@@ -0,0 +1,96 @@
+package com.inventory.inventorySystem.security;
+
+import com.inventory.inventorySystem.dto.response.UserResponse;
+import com.inventory.inventorySystem.enums.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtTokenProviderTest {
+
+    private static final long EXPIRATION = 900_000;
+    private static final long REFRESH_EXPIRATION = 604_800_000;
+
+    private final String previousSecret = randomSecret();
+    private final String currentSecret = randomSecret();
+    private UserResponse user;
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        user = new UserResponse(UUID.randomUUID(), "cashier", "Cashier User", "cashier@store.com",
+                UserRole.CASHIER, LocalDateTime.now(), true);
+        jwtTokenProvider = new JwtTokenProvider(currentSecret, "current", "previous:" + previousSecret,
+                EXPIRATION, REFRESH_EXPIRATION);
+    }
+
+    @Test
+    void verifyAccessToken_ShouldAcceptTokenSignedWithPreviousKey() {
+        // Arrange
+        var previousProvider = new JwtTokenProvider(previousSecret, "previous", "", EXPIRATION, REFRESH_EXPIRATION);
+        String token = previousProvider.generateAccessToken(user);
+
+        // Act
+        Claims claims = jwtTokenProvider.verifyAccessToken(token);
+
+        // Assert
+        assertEquals(user.email(), claims.getSubject());
+    }
+
+    @Test
+    void verifyAccessToken_ShouldRejectUnknownKeyId() {
+        // Arrange
+        var retiredProvider = new JwtTokenProvider(randomSecret(), "retired", "", EXPIRATION, REFRESH_EXPIRATION);
+        String token = retiredProvider.generateAccessToken(user);
+
+        // Act & Assert
+        assertThrows(UnsupportedJwtException.class, () -> jwtTokenProvider.verifyAccessToken(token));
+    }
+
+    @Test
+    void verifyAccessToken_ShouldUseCurrentKeyForTokenWithoutKeyId() {
+        // Arrange
+        long now = System.currentTimeMillis();
+        String token = Jwts.builder()
+                .subject(user.email())
+                .claim("type_Token", "access")
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + EXPIRATION))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(currentSecret)))
+                .compact();
+
+        // Act
+        Claims claims = jwtTokenProvider.verifyAccessToken(token);
+
+        // Assert
+        assertEquals(user.email(), claims.getSubject());
+    }
+
+    @Test
+    void constructor_ShouldRejectMalformedPreviousKeyEntry() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> new JwtTokenProvider(currentSecret, "current",
+                "previous:" + previousSecret + "," + previousSecret, EXPIRATION, REFRESH_EXPIRATION));
+        assertThrows(IllegalStateException.class, () -> new JwtTokenProvider(currentSecret, "current",
+                ":" + previousSecret, EXPIRATION, REFRESH_EXPIRATION));
+    }
+
+    private static String randomSecret() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        return Base64.getEncoder().encodeToString(secret);
+    }
+}
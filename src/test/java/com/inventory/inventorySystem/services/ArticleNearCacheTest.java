@@ -0,0 +1,86 @@
+package com.inventory.inventorySystem.services;
+
+import com.inventory.inventorySystem.model.Article;
+import com.inventory.inventorySystem.repository.ArticleRepository;
+import com.inventory.inventorySystem.service.ArticleNearCache;
+import com.inventory.inventorySystem.service.ArticleNearCache.ArticleSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ArticleNearCacheTest {
+
+    private static final UUID FIRST_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID SECOND_ID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ArticleNearCache articleNearCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        articleNearCache = new ArticleNearCache(articleRepository, meterRegistry, 1, 60);
+    }
+
+    @Test
+    void getAll_ShouldServeRepeatedLookupsFromMemory() {
+        // Arrange
+        when(articleRepository.findAllById(any())).thenReturn(List.of(article(FIRST_ID, 7)));
+
+        // Act
+        articleNearCache.getAll(List.of(FIRST_ID));
+        Map<UUID, ArticleSnapshot> snapshots = articleNearCache.getAll(List.of(FIRST_ID));
+
+        // Assert
+        assertEquals(7, snapshots.get(FIRST_ID).availableStock());
+        verify(articleRepository, times(1)).findAllById(any());
+        assertEquals(1.0, meterRegistry.get("articles.near_cache.requests").tag("result", "hit").counter().count());
+        assertEquals(0.5, meterRegistry.get("articles.near_cache.hit_ratio").gauge().value());
+    }
+
+    @Test
+    void getAll_ShouldReloadAfterInvalidationAndEvictBeyondCapacity() {
+        // Arrange
+        when(articleRepository.findAllById(any()))
+                .thenReturn(List.of(article(FIRST_ID, 7)))
+                .thenReturn(List.of(article(FIRST_ID, 2)))
+                .thenReturn(List.of(article(SECOND_ID, 4)));
+
+        // Act
+        articleNearCache.getAll(List.of(FIRST_ID));
+        articleNearCache.invalidate(FIRST_ID);
+        Map<UUID, ArticleSnapshot> reloaded = articleNearCache.getAll(List.of(FIRST_ID));
+        articleNearCache.getAll(List.of(SECOND_ID));
+
+        // Assert
+        assertEquals(2, reloaded.get(FIRST_ID).availableStock());
+        assertEquals(1.0, meterRegistry.get("articles.near_cache.evictions").tag("cause", "size").counter().count());
+    }
+
+    private Article article(UUID id, int stock) {
+        var article = new Article();
+        article.setId(id);
+        article.setName("Rice");
+        article.setUnitPrice(BigDecimal.TEN);
+        article.setStock(stock);
+        return article;
+    }
+}
@@ -0,0 +1,97 @@
+package com.inventory.inventorySystem.services;
+
+import com.inventory.inventorySystem.dto.request.ArticleRequest;
+import com.inventory.inventorySystem.mapper.interfaces.ArticleMapper;
+import com.inventory.inventorySystem.model.Article;
+import com.inventory.inventorySystem.repository.ArticleRepository;
+import com.inventory.inventorySystem.repository.ArticleStockShardRepository;
+import com.inventory.inventorySystem.service.ArticleNearCache;
+import com.inventory.inventorySystem.service.ArticleServiceImpl;
+import com.inventory.inventorySystem.service.WriteBehindStockCounters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ArticleServiceImplTest {
+
+    private static final UUID ARTICLE_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private ArticleMapper articleMapper;
+
+    @Mock
+    private ArticleNearCache articleNearCache;
+
+    @Mock
+    private ArticleStockShardRepository articleStockShardRepository;
+
+    @Mock
+    private WriteBehindStockCounters writeBehindStockCounters;
+
+    @InjectMocks
+    private ArticleServiceImpl articleService;
+
+    private final Article article = new Article();
+
+    @BeforeEach
+    void setUp() {
+        when(articleRepository.findById(ARTICLE_ID)).thenReturn(Optional.of(article));
+    }
+
+    @Test
+    void updateArticle_ShouldRejectStockEditOfShardedArticle() {
+        // Arrange
+        when(articleStockShardRepository.findShardedArticleIds(List.of(ARTICLE_ID))).thenReturn(List.of(ARTICLE_ID));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> articleService.updateArticle(ARTICLE_ID, stockRequest(40)));
+        verify(articleRepository, never()).save(any());
+    }
+
+    @Test
+    void updateArticle_ShouldRejectStockEditOfWriteBehindArticle() {
+        // Arrange
+        when(articleStockShardRepository.findShardedArticleIds(List.of(ARTICLE_ID))).thenReturn(List.of());
+        when(writeBehindStockCounters.isManaged(ARTICLE_ID)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> articleService.updateArticle(ARTICLE_ID, stockRequest(40)));
+        verify(articleRepository, never()).save(any());
+    }
+
+    @Test
+    void updateArticle_ShouldApplyStockEditOfPlainArticle() {
+        // Arrange
+        when(articleStockShardRepository.findShardedArticleIds(List.of(ARTICLE_ID))).thenReturn(List.of());
+        ArticleRequest request = stockRequest(40);
+
+        // Act
+        articleService.updateArticle(ARTICLE_ID, request);
+
+        // Assert
+        verify(articleMapper).applyPartialUpdate(article, request);
+        verify(articleRepository).save(article);
+        verify(articleNearCache).invalidate(ARTICLE_ID);
+    }
+
+    private static ArticleRequest stockRequest(int stock) {
+        return new ArticleRequest(null, null, stock, null, null, null, null, null, null);
+    }
+}
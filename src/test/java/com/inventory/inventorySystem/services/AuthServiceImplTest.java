@@ -4,22 +4,40 @@ import com.inventory.inventorySystem.dto.request.RegisterRequest;
 import com.inventory.inventorySystem.dto.response.AuthResponse;
 import com.inventory.inventorySystem.dto.response.UserResponse;
 import com.inventory.inventorySystem.enums.UserRole;
+import com.inventory.inventorySystem.exceptions.InvalidTokenException;
+import com.inventory.inventorySystem.exceptions.ResourceNotFoundException;
+import com.inventory.inventorySystem.mapper.interfaces.UserMapper;
 import com.inventory.inventorySystem.model.Token;
+import com.inventory.inventorySystem.model.User;
 import com.inventory.inventorySystem.repository.TokenRepository;
+import com.inventory.inventorySystem.repository.UserRepository;
 import com.inventory.inventorySystem.service.AuthServiceImpl;
+import com.inventory.inventorySystem.security.AccessTokenDenylist;
 import com.inventory.inventorySystem.security.JwtTokenProvider;
+import com.inventory.inventorySystem.security.TokenDigest;
 import com.inventory.inventorySystem.service.interfaces.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.Optional;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -35,6 +53,15 @@ class AuthServiceImplTest {
     @Mock
     private TokenRepository tokenRepository;
 
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private AccessTokenDenylist accessTokenDenylist;
+
     @InjectMocks
     private AuthServiceImpl authService;
 
@@ -55,6 +82,7 @@ class AuthServiceImplTest {
         when(userService.saveUser(request)).thenReturn(userResponse);
         when(jwtTokenProvider.generateAccessToken(userResponse)).thenReturn("jwt-token");
         when(jwtTokenProvider.generateRefreshToken(userResponse)).thenReturn("refresh-token");
+        when(userRepository.findById(userResponse.id())).thenReturn(Optional.of(new User()));
 
         // Act
         AuthResponse result = authService.registerUser(request);
@@ -62,6 +90,156 @@ class AuthServiceImplTest {
         // Assert
         assertEquals("jwt-token", result.accessToken());
         assertEquals("refresh-token", result.refreshToken());
-        verify(tokenRepository).save(any(Token.class));
+        ArgumentCaptor<Token> savedToken = ArgumentCaptor.forClass(Token.class);
+        verify(tokenRepository).save(savedToken.capture());
+        assertArrayEquals(TokenDigest.sha256("refresh-token"), savedToken.getValue().getRefreshTokenHash());
+    }
+
+    @Test
+    void refreshToken_ShouldRotateTheStoredSession() {
+        // Arrange
+        User user = user();
+        Token session = session(user);
+        UserResponse userResponse = userResponse(user);
+        arrangeValidRefreshToken(user, session);
+        when(userMapper.toDto(user)).thenReturn(userResponse);
+        when(jwtTokenProvider.generateAccessToken(userResponse)).thenReturn("new-access-token");
+        when(jwtTokenProvider.generateRefreshToken(userResponse)).thenReturn("new-refresh-token");
+        when(tokenRepository.rotate(eq(session.getId()), aryEq(TokenDigest.sha256("refresh-token")),
+                aryEq(TokenDigest.sha256("new-refresh-token")), any())).thenReturn(1);
+
+        // Act
+        AuthResponse result = authService.refreshToken("refresh-token");
+
+        // Assert
+        assertEquals("new-access-token", result.accessToken());
+        assertEquals("new-refresh-token", result.refreshToken());
+    }
+
+    @Test
+    void refreshToken_ShouldRejectATokenThatWasAlreadyRotated() {
+        // Arrange
+        User user = user();
+        when(jwtTokenProvider.getUsernameFromToken("refresh-token")).thenReturn(user.getEmail());
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(jwtTokenProvider.isRefreshTokenValid("refresh-token", user)).thenReturn(true);
+        when(tokenRepository.findByRefreshTokenHash(any())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> authService.refreshToken("refresh-token"));
+        verify(jwtTokenProvider, never()).generateRefreshToken(any());
+    }
+
+    @Test
+    void refreshToken_ShouldRejectAConcurrentReuseOfTheSameToken() {
+        // Arrange
+        User user = user();
+        Token session = session(user);
+        UserResponse userResponse = userResponse(user);
+        arrangeValidRefreshToken(user, session);
+        when(userMapper.toDto(user)).thenReturn(userResponse);
+        when(jwtTokenProvider.generateRefreshToken(userResponse)).thenReturn("new-refresh-token");
+        when(tokenRepository.rotate(any(), any(), any(), any())).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(InvalidTokenException.class, () -> authService.refreshToken("refresh-token"));
+    }
+
+    @Test
+    void logout_ShouldRevokeOnlyThePresentedSession() {
+        // Arrange
+        User user = user();
+        Token session = session(user);
+        Claims claims = arrangeValidAccessToken(user);
+        when(tokenRepository.findByRefreshTokenHash(aryEq(TokenDigest.sha256("refresh-token")))).thenReturn(Optional.of(session));
+
+        // Act
+        authService.logout("Bearer access-token", "refresh-token");
+
+        // Assert
+        assertTrue(session.getRevoked());
+        assertTrue(session.getExpired());
+        verify(tokenRepository).save(session);
+        verify(tokenRepository, never()).revokeAllByUserId(any(), any());
+        verify(accessTokenDenylist).revoke(claims.getId(), claims.getExpiration());
+    }
+
+    @Test
+    void logout_ShouldRevokeAllSessionsWithoutRefreshToken() {
+        // Arrange
+        User user = user();
+        Claims claims = arrangeValidAccessToken(user);
+
+        // Act
+        authService.logout("Bearer access-token", null);
+
+        // Assert
+        verify(tokenRepository).revokeAllByUserId(eq(user.getId()), any());
+        verify(tokenRepository, never()).findByRefreshTokenHash(any());
+        verify(accessTokenDenylist).revoke(claims.getId(), claims.getExpiration());
+    }
+
+    @Test
+    void logout_ShouldRejectATokenThatIsNotAnAccessToken() {
+        // Arrange
+        when(jwtTokenProvider.verifyAccessToken("refresh-token")).thenReturn(null);
+
+        // Act
+        InvalidTokenException exception = assertThrows(InvalidTokenException.class,
+                () -> authService.logout("Bearer refresh-token", null));
+
+        // Assert
+        assertEquals("Access token is invalid or expired", exception.getMessage());
+        verify(tokenRepository, never()).revokeAllByUserId(any(), any());
+    }
+
+    @Test
+    void logout_ShouldRejectAHeaderWithoutBearerPrefix() {
+        // Act
+        InvalidTokenException exception = assertThrows(InvalidTokenException.class,
+                () -> authService.logout("access-token", null));
+
+        // Assert
+        assertEquals("Invalid access token: missing or incorrect prefix", exception.getMessage());
+    }
+
+    private void arrangeValidRefreshToken(User user, Token session) {
+        when(jwtTokenProvider.getUsernameFromToken("refresh-token")).thenReturn(user.getEmail());
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(jwtTokenProvider.isRefreshTokenValid("refresh-token", user)).thenReturn(true);
+        when(tokenRepository.findByRefreshTokenHash(aryEq(TokenDigest.sha256("refresh-token")))).thenReturn(Optional.of(session));
+    }
+
+    private Claims arrangeValidAccessToken(User user) {
+        Claims claims = Jwts.claims()
+                .subject(user.getEmail())
+                .id(UUID.randomUUID().toString())
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .build();
+        when(jwtTokenProvider.verifyAccessToken("access-token")).thenReturn(claims);
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        return claims;
+    }
+
+    private User user() {
+        User user = new User();
+        user.setId(UUID.fromString("f47ac10b-58cc-4372-a567-0e02b2c3d479"));
+        user.setEmail("jdoe@example.com");
+        return user;
+    }
+
+    private Token session(User user) {
+        return Token.builder()
+                .id(UUID.randomUUID())
+                .refreshTokenHash(TokenDigest.sha256("refresh-token"))
+                .revoked(false)
+                .expired(false)
+                .user(user)
+                .build();
+    }
+
+    private UserResponse userResponse(User user) {
+        return new UserResponse(user.getId(), "jdoe", "John Doe", user.getEmail(), UserRole.ADMIN,
+                LocalDateTime.of(2024, 7, 25, 14, 30), true);
     }
 }
@@ -0,0 +1,111 @@
+package com.inventory.inventorySystem.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.inventorySystem.exceptions.IdempotencyKeyReuseException;
+import com.inventory.inventorySystem.model.IdempotencyKey;
+import com.inventory.inventorySystem.repository.IdempotencyKeyRepository;
+import com.inventory.inventorySystem.service.IdempotencyServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceImplTest {
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private IdempotencyServiceImpl idempotencyService;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyServiceImpl(idempotencyKeyRepository, transactionTemplate, new ObjectMapper(), 100, 24);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(idempotencyKeyRepository.findById(any())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void execute_ShouldReplayTheStoredResponseForTheSameRequest() {
+        // Act
+        Receipt first = execute("key-1", "cashier@store.com", "sales", new Payment(10));
+        Receipt retry = execute("key-1", "cashier@store.com", "sales", new Payment(10));
+
+        // Assert
+        assertEquals(first, retry);
+        assertEquals(1, executions.get());
+        verify(idempotencyKeyRepository).saveAndFlush(any(IdempotencyKey.class));
+    }
+
+    @Test
+    void execute_ShouldRejectTheSameKeyWithADifferentBody() {
+        // Arrange
+        execute("key-1", "cashier@store.com", "sales", new Payment(10));
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyReuseException.class,
+                () -> execute("key-1", "cashier@store.com", "sales", new Payment(25)));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void execute_ShouldNotShareKeysAcrossUsersOrTargets() {
+        // Act
+        execute("key-1", "cashier@store.com", "sale-payments:1", new Payment(10));
+        execute("key-1", "other@store.com", "sale-payments:1", new Payment(10));
+        execute("key-1", "cashier@store.com", "sale-payments:2", new Payment(10));
+
+        // Assert
+        assertEquals(3, executions.get());
+    }
+
+    @Test
+    void execute_ShouldNotReplayCachedResponsesOlderThanTheRetention() {
+        // Arrange
+        idempotencyService = new IdempotencyServiceImpl(idempotencyKeyRepository, transactionTemplate, new ObjectMapper(), 100, 0);
+
+        // Act
+        execute("key-1", "cashier@store.com", "sales", new Payment(10));
+        execute("key-1", "cashier@store.com", "sales", new Payment(10));
+
+        // Assert
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void execute_ShouldRejectKeysLongerThanTheColumn() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> execute("k".repeat(151), "cashier@store.com", "sales", new Payment(10)));
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    private Receipt execute(String key, String principal, String scope, Payment request) {
+        return idempotencyService.execute(key, principal, scope, request, Receipt.class,
+                () -> new Receipt(executions.incrementAndGet()));
+    }
+
+    record Payment(int amount) {
+    }
+
+    record Receipt(int sequence) {
+    }
+}
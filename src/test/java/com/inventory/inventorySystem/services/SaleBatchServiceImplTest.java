@@ -0,0 +1,77 @@
+package com.inventory.inventorySystem.services;
+
+import com.inventory.inventorySystem.dto.request.SaleDetailRequest;
+import com.inventory.inventorySystem.dto.request.SaleRequest;
+import com.inventory.inventorySystem.service.SaleBatchServiceImpl;
+import com.inventory.inventorySystem.service.interfaces.SaleService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SaleBatchServiceImplTest {
+
+    @Mock
+    private SaleService saleService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private SaleBatchServiceImpl saleBatchService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(saleBatchService, "maxSales", 2);
+        ReflectionTestUtils.setField(saleBatchService, "chunkSize", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void registerSales_ShouldRejectBatchesLargerThanTheCap() {
+        // Arrange
+        List<SaleRequest> saleRequests = Collections.nCopies(3, request());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> saleBatchService.registerSales(saleRequests));
+        verifyNoInteractions(transactionTemplate, saleService);
+    }
+
+    @Test
+    void registerSales_ShouldFailTheWholeBatchWhenAChunkFailsInsideTheCallersTransaction() {
+        // Arrange
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        when(transactionTemplate.execute(any())).thenThrow(new QueryTimeoutException("statement timeout"));
+
+        // Act & Assert
+        assertThrows(QueryTimeoutException.class, () -> saleBatchService.registerSales(List.of(request(), request())));
+        verify(saleService, never()).registerSale(any());
+    }
+
+    private static SaleRequest request() {
+        return new SaleRequest(null, UUID.randomUUID(), List.of(new SaleDetailRequest(1, UUID.randomUUID())));
+    }
+}
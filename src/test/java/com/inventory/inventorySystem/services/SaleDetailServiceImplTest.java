@@ -0,0 +1,92 @@
+package com.inventory.inventorySystem.services;
+
+import com.inventory.inventorySystem.dto.request.SaleDetailRequest;
+import com.inventory.inventorySystem.dto.response.SaleDetailResponse;
+import com.inventory.inventorySystem.enums.BulkInsertStrategy;
+import com.inventory.inventorySystem.mapper.SaleDetailMapperImpl;
+import com.inventory.inventorySystem.model.Article;
+import com.inventory.inventorySystem.model.Sale;
+import com.inventory.inventorySystem.repository.ArticleRepository;
+import com.inventory.inventorySystem.repository.DetailBulkInserter;
+import com.inventory.inventorySystem.service.ArticleNearCache;
+import com.inventory.inventorySystem.service.ArticleNearCache.ArticleSnapshot;
+import com.inventory.inventorySystem.service.SaleDetailServiceImpl;
+import com.inventory.inventorySystem.service.WriteBehindStockCounters;
+import com.inventory.inventorySystem.service.interfaces.StockService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SaleDetailServiceImplTest {
+
+    private static final UUID ARTICLE_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Mock
+    private DetailBulkInserter detailBulkInserter;
+
+    @Spy
+    private SaleDetailMapperImpl saleDetailMapper;
+
+    @Mock
+    private StockService stockService;
+
+    @Mock
+    private ArticleNearCache articleNearCache;
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private WriteBehindStockCounters writeBehindStockCounters;
+
+    @InjectMocks
+    private SaleDetailServiceImpl saleDetailService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(saleDetailService, "insertStrategy", BulkInsertStrategy.AUTO);
+    }
+
+    @Test
+    void registerSaleDetail_ShouldPriceLinesFromTheArticleRowsInsteadOfTheCache() {
+        // Arrange
+        var staleSnapshot = new ArticleSnapshot(ARTICLE_ID, "Rice", new BigDecimal("10.00"), 50, 0L);
+        when(articleNearCache.getAll(any())).thenReturn(new HashMap<>(Map.of(ARTICLE_ID, staleSnapshot)));
+        when(articleRepository.findUnitPrices(any())).thenReturn(Map.of(ARTICLE_ID, new BigDecimal("12.50")));
+        var articleReference = new Article();
+        articleReference.setId(ARTICLE_ID);
+        when(articleRepository.getReferenceById(ARTICLE_ID)).thenReturn(articleReference);
+        var sale = new Sale();
+        sale.setId(UUID.randomUUID());
+
+        // Act
+        List<SaleDetailResponse> details = saleDetailService.registerSaleDetail(
+                List.of(new SaleDetailRequest(2, ARTICLE_ID)), sale);
+
+        // Assert
+        assertEquals(new BigDecimal("12.50"), details.get(0).unitPrice());
+        assertEquals(new BigDecimal("25.00"), details.get(0).subtotal());
+        assertEquals("Rice", details.get(0).articleName());
+        InOrder inOrder = inOrder(stockService, articleRepository);
+        inOrder.verify(stockService).withdrawStock(Map.of(ARTICLE_ID, 2));
+        inOrder.verify(articleRepository).findUnitPrices(any());
+    }
+}
@@ -0,0 +1,233 @@
+package com.inventory.inventorySystem.services;
+
+import com.inventory.inventorySystem.dto.request.SaleDetailRequest;
+import com.inventory.inventorySystem.dto.request.SaleRequest;
+import com.inventory.inventorySystem.dto.response.CompleteSaleResponse;
+import com.inventory.inventorySystem.enums.SaleRegistrationMode;
+import com.inventory.inventorySystem.service.SaleGroupCommitter;
+import com.inventory.inventorySystem.service.interfaces.SaleService;
+import com.inventory.inventorySystem.service.interfaces.StockService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SaleGroupCommitterTest {
+
+    private static final String WRITER_THREAD = "sale-group-commit";
+    private static final UUID SALE_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Mock
+    private SaleService saleService;
+
+    @Mock
+    private StockService stockService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SaleGroupCommitter saleGroupCommitter;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        saleGroupCommitter.stop();
+    }
+
+    @Test
+    void registerSale_ShouldCommitConcurrentSalesInOneTransaction() {
+        // Arrange
+        saleGroupCommitter = committer(10, 3, 2_000);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(saleService.registerSale(any())).thenAnswer(invocation -> response());
+        saleGroupCommitter.start();
+
+        // Act
+        List<CompletableFuture<CompleteSaleResponse>> results = List.of(
+                CompletableFuture.supplyAsync(() -> saleGroupCommitter.registerSale(request())),
+                CompletableFuture.supplyAsync(() -> saleGroupCommitter.registerSale(request())),
+                CompletableFuture.supplyAsync(() -> saleGroupCommitter.registerSale(request())));
+        results.forEach(CompletableFuture::join);
+
+        // Assert
+        verify(transactionTemplate, times(1)).execute(any());
+        verify(saleService, times(3)).registerSale(any());
+        assertEquals(3.0, meterRegistry.get("sales.group_commit.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    void registerSale_ShouldWithdrawTheMergedStockOfTheBatchBeforeRegisteringItsSales() {
+        // Arrange
+        saleGroupCommitter = committer(10, 2, 2_000);
+        UUID firstArticle = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+        UUID secondArticle = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(saleService.registerSale(any())).thenAnswer(invocation -> response());
+        saleGroupCommitter.start();
+
+        // Act
+        List<CompletableFuture<CompleteSaleResponse>> results = List.of(
+                CompletableFuture.supplyAsync(() -> saleGroupCommitter.registerSale(request(secondArticle, firstArticle))),
+                CompletableFuture.supplyAsync(() -> saleGroupCommitter.registerSale(request(firstArticle))));
+        results.forEach(CompletableFuture::join);
+
+        // Assert
+        InOrder inOrder = inOrder(stockService, saleService);
+        inOrder.verify(stockService).withdrawStockInAdvance(Map.of(firstArticle, 2, secondArticle, 1));
+        inOrder.verify(saleService, times(2)).registerSale(any());
+        assertEquals(1.5, meterRegistry.get("stock.coalescing.ratio").summary().mean());
+    }
+
+    @Test
+    void registerSale_ShouldLockEveryArticleOfTheBatchBeforeRoutineRegistration() {
+        // Arrange
+        saleGroupCommitter = committer(SaleRegistrationMode.ROUTINE, 10, 2, 2_000, 5_000);
+        UUID firstArticle = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+        UUID secondArticle = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(saleService.registerSale(any())).thenAnswer(invocation -> response());
+        saleGroupCommitter.start();
+
+        // Act
+        List<CompletableFuture<CompleteSaleResponse>> results = List.of(
+                CompletableFuture.supplyAsync(() -> saleGroupCommitter.registerSale(request(secondArticle, firstArticle))),
+                CompletableFuture.supplyAsync(() -> saleGroupCommitter.registerSale(request(firstArticle))));
+        results.forEach(CompletableFuture::join);
+
+        // Assert
+        InOrder inOrder = inOrder(stockService, saleService);
+        inOrder.verify(stockService).lockStock(argThat(ids -> Set.copyOf(ids).equals(Set.of(firstArticle, secondArticle))));
+        inOrder.verify(saleService, times(2)).registerSale(any());
+    }
+
+    @Test
+    void registerSale_ShouldRegisterDirectlyWhenTheQueueIsFull() throws Exception {
+        // Arrange
+        saleGroupCommitter = committer(1, 1, 0);
+        var writerBusy = new CountDownLatch(1);
+        var releaseWriter = new CountDownLatch(1);
+        when(saleService.registerSale(any())).thenAnswer(invocation -> {
+            if (Thread.currentThread().getName().equals(WRITER_THREAD)) {
+                writerBusy.countDown();
+                releaseWriter.await();
+            }
+            return response();
+        });
+        saleGroupCommitter.start();
+        var inWriter = CompletableFuture.supplyAsync(() -> saleGroupCommitter.registerSale(request()));
+        assertTrue(writerBusy.await(5, TimeUnit.SECONDS));
+        var queued = CompletableFuture.supplyAsync(() -> saleGroupCommitter.registerSale(request()));
+        while (meterRegistry.get("sales.group_commit.queue.depth").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // Act
+        CompleteSaleResponse direct = saleGroupCommitter.registerSale(request());
+
+        // Assert
+        assertEquals(SALE_ID, direct.id());
+        assertFalse(queued.isDone());
+        releaseWriter.countDown();
+        inWriter.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+        verify(saleService, times(3)).registerSale(any());
+    }
+
+    @Test
+    void registerSale_ShouldWaitForASaleTheWriterHasTakenPastTheQueueTimeout() throws Exception {
+        // Arrange
+        saleGroupCommitter = committer(10, 1, 0, 50);
+        var writerBusy = new CountDownLatch(1);
+        var releaseWriter = new CountDownLatch(1);
+        when(saleService.registerSale(any())).thenAnswer(invocation -> {
+            writerBusy.countDown();
+            releaseWriter.await();
+            return response();
+        });
+        saleGroupCommitter.start();
+
+        // Act
+        var inFlight = CompletableFuture.supplyAsync(() -> saleGroupCommitter.registerSale(request()));
+        assertTrue(writerBusy.await(5, TimeUnit.SECONDS));
+        Thread.sleep(200);
+
+        // Assert
+        assertFalse(inFlight.isDone());
+        releaseWriter.countDown();
+        assertEquals(SALE_ID, inFlight.get(5, TimeUnit.SECONDS).id());
+        verify(saleService, times(1)).registerSale(any());
+    }
+
+    @Test
+    void registerSale_ShouldFailQueuedSalesAndFallBackWhenTheWriterDies() {
+        // Arrange
+        saleGroupCommitter = committer(10, 1, 0);
+        when(saleService.registerSale(any())).thenAnswer(invocation -> {
+            if (Thread.currentThread().getName().equals(WRITER_THREAD)) {
+                throw new StackOverflowError();
+            }
+            return response();
+        });
+        saleGroupCommitter.start();
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> saleGroupCommitter.registerSale(request()));
+        CompleteSaleResponse afterFailure = saleGroupCommitter.registerSale(request());
+
+        // Assert
+        assertEquals(SALE_ID, afterFailure.id());
+    }
+
+    private SaleGroupCommitter committer(int queueCapacity, int batchSize, long maxLingerMs) {
+        return committer(queueCapacity, batchSize, maxLingerMs, 5_000);
+    }
+
+    private SaleGroupCommitter committer(int queueCapacity, int batchSize, long maxLingerMs, long queueTimeoutMs) {
+        return committer(SaleRegistrationMode.JPA, queueCapacity, batchSize, maxLingerMs, queueTimeoutMs);
+    }
+
+    private SaleGroupCommitter committer(SaleRegistrationMode registrationMode, int queueCapacity, int batchSize,
+                                         long maxLingerMs, long queueTimeoutMs) {
+        return new SaleGroupCommitter(saleService, stockService, transactionTemplate, meterRegistry, registrationMode,
+                true, queueCapacity, batchSize, maxLingerMs, queueTimeoutMs);
+    }
+
+    private static SaleRequest request(UUID... articleIds) {
+        return new SaleRequest(null, UUID.randomUUID(), Arrays.stream(articleIds)
+                .map(articleId -> new SaleDetailRequest(1, articleId))
+                .toList());
+    }
+
+    private static CompleteSaleResponse response() {
+        return new CompleteSaleResponse(SALE_ID, null, null, null, null, null, null, null, List.of());
+    }
+}
@@ -0,0 +1,140 @@
+package com.inventory.inventorySystem.services;
+
+import com.inventory.inventorySystem.model.Article;
+import com.inventory.inventorySystem.model.SaleDetail;
+import com.inventory.inventorySystem.repository.SaleDetailRepository;
+import com.inventory.inventorySystem.repository.SaleRepository;
+import com.inventory.inventorySystem.repository.StockReservationRepository;
+import com.inventory.inventorySystem.service.SaleReservationServiceImpl;
+import com.inventory.inventorySystem.service.interfaces.StockService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SaleReservationServiceImplTest {
+
+    private static final UUID SALE_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID ARTICLE_ID = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+
+    @Mock
+    private StockReservationRepository stockReservationRepository;
+
+    @Mock
+    private SaleRepository saleRepository;
+
+    @Mock
+    private SaleDetailRepository saleDetailRepository;
+
+    @Mock
+    private StockService stockService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SaleReservationServiceImpl saleReservationService;
+
+    @BeforeEach
+    void setUp() {
+        // A zero TTL expires every reservation on the next tick.
+        saleReservationService = new SaleReservationServiceImpl(stockReservationRepository, saleRepository,
+                saleDetailRepository, stockService, transactionTemplate, meterRegistry, 0, 1_000, 4);
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<?>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void expireReservations_ShouldExpireAnUnpaidPendingSaleAndReturnItsStock() {
+        // Arrange
+        when(saleRepository.expireSale(SALE_ID)).thenReturn(1);
+        when(saleDetailRepository.findBySaleId(SALE_ID)).thenReturn(List.of(detail(2), detail(3)));
+        saleReservationService.reserve(SALE_ID);
+
+        // Act
+        saleReservationService.expireReservations();
+
+        // Assert
+        verify(stockService).increaseStock(Map.of(ARTICLE_ID, 5));
+        verify(stockReservationRepository).deleteBySaleId(SALE_ID);
+        assertEquals(1.0, meterRegistry.get("sales.reservation.expired").counter().count());
+    }
+
+    @Test
+    void expireReservations_ShouldKeepTheStockOfAPartiallyPaidSale() {
+        // Arrange
+        when(saleRepository.expireSale(SALE_ID)).thenReturn(0);
+        saleReservationService.reserve(SALE_ID);
+
+        // Act
+        saleReservationService.expireReservations();
+
+        // Assert
+        verify(stockService, never()).increaseStock(any());
+        verify(saleDetailRepository, never()).findBySaleId(any());
+        verify(stockReservationRepository).deleteBySaleId(SALE_ID);
+        assertEquals(0.0, meterRegistry.get("sales.reservation.expired").counter().count());
+    }
+
+    @Test
+    void expireReservations_ShouldExpireEachSaleOnlyOnce() {
+        // Arrange
+        when(saleRepository.expireSale(SALE_ID)).thenReturn(1);
+        when(saleDetailRepository.findBySaleId(SALE_ID)).thenReturn(List.of(detail(2)));
+        saleReservationService.reserve(SALE_ID);
+
+        // Act
+        for (int tick = 0; tick < 8; tick++) {
+            saleReservationService.expireReservations();
+        }
+
+        // Assert
+        verify(saleRepository, times(1)).expireSale(SALE_ID);
+        verify(stockService, times(1)).increaseStock(any());
+    }
+
+    @Test
+    void confirm_ShouldCancelTheExpiryOfThePaidSale() {
+        // Arrange
+        saleReservationService.reserve(SALE_ID);
+
+        // Act
+        saleReservationService.confirm(SALE_ID);
+        saleReservationService.confirm(SALE_ID);
+        saleReservationService.expireReservations();
+
+        // Assert
+        verify(saleRepository, never()).expireSale(any());
+        verify(stockService, never()).increaseStock(any());
+        verify(stockReservationRepository, times(2)).deleteBySaleId(SALE_ID);
+    }
+
+    private static SaleDetail detail(int quantity) {
+        var article = new Article();
+        article.setId(ARTICLE_ID);
+        var detail = new SaleDetail();
+        detail.setArticle(article);
+        detail.setQuantity(quantity);
+        return detail;
+    }
+}
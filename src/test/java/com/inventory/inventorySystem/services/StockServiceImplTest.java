@@ -0,0 +1,227 @@
+package com.inventory.inventorySystem.services;
+
+import com.inventory.inventorySystem.exceptions.ResourceNotFoundException;
+import com.inventory.inventorySystem.exceptions.StockExhaustedException;
+import com.inventory.inventorySystem.model.Article;
+import com.inventory.inventorySystem.repository.ArticleRepository;
+import com.inventory.inventorySystem.repository.ArticleStockShardRepository;
+import com.inventory.inventorySystem.service.ArticleNearCache;
+import com.inventory.inventorySystem.service.StockServiceImpl;
+import com.inventory.inventorySystem.service.StripedArticleLocks;
+import com.inventory.inventorySystem.service.WriteBehindStockCounters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StockServiceImplTest {
+
+    private static final UUID FIRST_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID SECOND_ID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private WriteBehindStockCounters writeBehindStockCounters;
+
+    @Mock
+    private ArticleStockShardRepository articleStockShardRepository;
+
+    @Mock
+    private ArticleNearCache articleNearCache;
+
+    @Mock
+    private StripedArticleLocks stripedArticleLocks;
+
+    @InjectMocks
+    private StockServiceImpl stockService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(stripedArticleLocks).lockWhile(any(), any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        List.copyOf(TransactionSynchronizationManager.getResourceMap().keySet())
+                .forEach(TransactionSynchronizationManager::unbindResource);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void withdrawStock_ShouldApplyBatchInAscendingIdOrder() {
+        // Arrange
+        when(articleRepository.decreaseStockInBatch(any())).thenReturn(new int[]{1, 1});
+
+        // Act
+        stockService.withdrawStock(Map.of(SECOND_ID, 2, FIRST_ID, 5));
+
+        // Assert
+        ArgumentCaptor<SortedMap<UUID, Integer>> captor = ArgumentCaptor.forClass(SortedMap.class);
+        verify(articleRepository).decreaseStockInBatch(captor.capture());
+        assertEquals(List.of(FIRST_ID, SECOND_ID), List.copyOf(captor.getValue().keySet()));
+        assertEquals(List.of(5, 2), List.copyOf(captor.getValue().values()));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void withdrawStock_ShouldOrderIdsLikeTheDatabase() {
+        // Arrange
+        UUID highBitId = UUID.fromString("80000000-0000-0000-0000-000000000000");
+        when(articleRepository.decreaseStockInBatch(any())).thenReturn(new int[]{1, 1});
+
+        // Act
+        stockService.withdrawStock(Map.of(highBitId, 1, FIRST_ID, 1));
+
+        // Assert
+        ArgumentCaptor<SortedMap<UUID, Integer>> captor = ArgumentCaptor.forClass(SortedMap.class);
+        verify(articleRepository).decreaseStockInBatch(captor.capture());
+        assertEquals(List.of(FIRST_ID, highBitId), List.copyOf(captor.getValue().keySet()));
+    }
+
+    @Test
+    void withdrawStock_ShouldRejectWhenStockIsInsufficient() {
+        // Arrange
+        when(articleRepository.decreaseStockInBatch(any())).thenReturn(new int[]{1, 0});
+        when(articleRepository.findById(SECOND_ID)).thenReturn(Optional.of(article(SECOND_ID, 1)));
+
+        // Act & Assert
+        assertThrows(StockExhaustedException.class,
+                () -> stockService.withdrawStock(Map.of(FIRST_ID, 1, SECOND_ID, 4)));
+    }
+
+    @Test
+    void withdrawStock_ShouldRejectUnknownArticle() {
+        // Arrange
+        when(articleRepository.decreaseStockInBatch(any())).thenReturn(new int[]{0});
+        when(articleRepository.findById(FIRST_ID)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> stockService.withdrawStock(Map.of(FIRST_ID, 1)));
+    }
+
+    @Test
+    void withdrawStock_ShouldResolveShardedArticleAtItsPositionInTheLockOrder() {
+        // Arrange
+        UUID thirdId = UUID.fromString("00000000-0000-0000-0000-000000000003");
+        when(articleStockShardRepository.findShardedArticleIds(any())).thenReturn(List.of(SECOND_ID));
+        when(articleRepository.decreaseStockInBatch(any())).thenReturn(new int[]{1});
+        when(articleStockShardRepository.decreaseStock(SECOND_ID, 2)).thenReturn(true);
+
+        // Act
+        stockService.withdrawStock(Map.of(thirdId, 3, SECOND_ID, 2, FIRST_ID, 1));
+
+        // Assert
+        InOrder lockOrder = inOrder(articleRepository, articleStockShardRepository);
+        lockOrder.verify(articleRepository).decreaseStockInBatch(new TreeMap<>(Map.of(FIRST_ID, 1)));
+        lockOrder.verify(articleStockShardRepository).decreaseStock(SECOND_ID, 2);
+        lockOrder.verify(articleRepository).decreaseStockInBatch(new TreeMap<>(Map.of(thirdId, 3)));
+    }
+
+    @Test
+    void withdrawStock_ShouldRejectShardedArticleWithoutEnoughStock() {
+        // Arrange
+        when(articleStockShardRepository.findShardedArticleIds(any())).thenReturn(List.of(FIRST_ID, SECOND_ID));
+        when(articleStockShardRepository.decreaseStock(FIRST_ID, 4)).thenReturn(false);
+        when(articleRepository.findById(FIRST_ID)).thenReturn(Optional.of(article(FIRST_ID, 1)));
+
+        // Act & Assert
+        assertThrows(StockExhaustedException.class,
+                () -> stockService.withdrawStock(Map.of(FIRST_ID, 4, SECOND_ID, 1)));
+        verify(articleStockShardRepository, never()).decreaseStock(SECOND_ID, 1);
+        verify(articleRepository, never()).decreaseStockInBatch(any());
+    }
+
+    @Test
+    void lockStock_ShouldLockRowsAndShardsInTheGlobalOrder() {
+        // Arrange
+        UUID thirdId = UUID.fromString("00000000-0000-0000-0000-000000000003");
+        when(articleStockShardRepository.findShardedArticleIds(any())).thenReturn(List.of(SECOND_ID));
+
+        // Act
+        stockService.lockStock(List.of(thirdId, SECOND_ID, FIRST_ID, thirdId));
+
+        // Assert
+        InOrder lockOrder = inOrder(articleRepository, articleStockShardRepository);
+        lockOrder.verify(articleRepository).lockStockInBatch(new TreeSet<>(Set.of(FIRST_ID)));
+        lockOrder.verify(articleStockShardRepository).lockStock(SECOND_ID);
+        lockOrder.verify(articleRepository).lockStockInBatch(new TreeSet<>(Set.of(thirdId)));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void increaseStock_ShouldRestockInTheSameOrderAsSales() {
+        // Arrange
+        UUID highBitId = UUID.fromString("80000000-0000-0000-0000-000000000000");
+        when(articleRepository.increaseStockInBatch(any())).thenReturn(2);
+        when(articleRepository.findAllById(any())).thenReturn(List.of(article(FIRST_ID, 3), article(highBitId, 3)));
+
+        // Act
+        stockService.increaseStock(Map.of(highBitId, 2, FIRST_ID, 1));
+
+        // Assert
+        ArgumentCaptor<SortedMap<UUID, Integer>> captor = ArgumentCaptor.forClass(SortedMap.class);
+        verify(articleRepository).increaseStockInBatch(captor.capture());
+        assertEquals(List.of(FIRST_ID, highBitId), List.copyOf(captor.getValue().keySet()));
+        assertEquals(List.of(1, 2), List.copyOf(captor.getValue().values()));
+    }
+
+    private Article article(UUID id, int stock) {
+        var article = new Article();
+        article.setId(id);
+        article.setStock(stock);
+        return article;
+    }
+
+    @Test
+    void withdrawStock_ShouldTakeQuantitiesWithdrawnInAdvanceForTheTransaction() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        when(articleRepository.decreaseStockInBatch(any())).thenReturn(new int[]{1, 1});
+        stockService.withdrawStockInAdvance(Map.of(FIRST_ID, 5, SECOND_ID, 2));
+
+        // Act
+        stockService.withdrawStock(Map.of(FIRST_ID, 3));
+        stockService.withdrawStock(Map.of(FIRST_ID, 2, SECOND_ID, 2));
+
+        // Assert
+        verify(articleRepository, times(1)).decreaseStockInBatch(any());
+        assertEquals(0, stockService.withdrawnInAdvance(FIRST_ID));
+        assertEquals(0, stockService.withdrawnInAdvance(SECOND_ID));
+    }
+}
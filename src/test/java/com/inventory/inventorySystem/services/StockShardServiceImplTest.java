@@ -0,0 +1,102 @@
+package com.inventory.inventorySystem.services;
+
+import com.inventory.inventorySystem.mapper.interfaces.ArticleMapper;
+import com.inventory.inventorySystem.repository.ArticleRepository;
+import com.inventory.inventorySystem.repository.ArticleStockShardRepository;
+import com.inventory.inventorySystem.service.StockShardServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StockShardServiceImplTest {
+
+    private static final UUID FIRST_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID SECOND_ID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    @Mock
+    private ArticleStockShardRepository articleStockShardRepository;
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private ArticleMapper articleMapper;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private StockShardServiceImpl stockShardService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(stockShardService, "maxShards", 16);
+        ReflectionTestUtils.setField(stockShardService, "rebalanceSkew", 5);
+        doAnswer(invocation -> {
+            invocation.<Consumer<?>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void rebalanceShards_ShouldSpreadRestockedAndSkewedStock() {
+        // Arrange
+        when(articleStockShardRepository.findShardedArticleIds()).thenReturn(List.of(FIRST_ID, SECOND_ID));
+        when(articleStockShardRepository.lockStock(FIRST_ID)).thenReturn(List.of(6, 2, 2));
+        when(articleStockShardRepository.lockStock(SECOND_ID)).thenReturn(List.of(0, 9, 1));
+
+        // Act
+        stockShardService.rebalanceShards();
+
+        // Assert
+        verify(articleStockShardRepository).rebalance(FIRST_ID, 10, 2);
+        verify(articleStockShardRepository).rebalance(SECOND_ID, 10, 2);
+    }
+
+    @Test
+    void rebalanceShards_ShouldSkipBalancedShards() {
+        // Arrange
+        when(articleStockShardRepository.findShardedArticleIds()).thenReturn(List.of(FIRST_ID));
+        when(articleStockShardRepository.lockStock(FIRST_ID)).thenReturn(List.of(0, 4, 7));
+
+        // Act
+        stockShardService.rebalanceShards();
+
+        // Assert
+        verify(articleStockShardRepository, never()).rebalance(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void rebalanceShards_ShouldContinueAfterAFailedArticle() {
+        // Arrange
+        when(articleStockShardRepository.findShardedArticleIds()).thenReturn(List.of(FIRST_ID, SECOND_ID));
+        when(articleStockShardRepository.lockStock(FIRST_ID)).thenThrow(new CannotAcquireLockException("lock timeout"));
+        when(articleStockShardRepository.lockStock(SECOND_ID)).thenReturn(List.of(3, 1, 1));
+
+        // Act
+        stockShardService.rebalanceShards();
+
+        // Assert
+        verify(articleStockShardRepository, never()).rebalance(eq(FIRST_ID), anyInt(), anyInt());
+        verify(articleStockShardRepository).rebalance(SECOND_ID, 5, 2);
+    }
+}
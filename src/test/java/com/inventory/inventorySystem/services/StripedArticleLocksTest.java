@@ -0,0 +1,71 @@
+package com.inventory.inventorySystem.services;
+
+import com.inventory.inventorySystem.service.StripedArticleLocks;
+import com.inventory.inventorySystem.utils.UuidOrder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StripedArticleLocksTest {
+
+    private static final UUID ARTICLE_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StripedArticleLocks stripedArticleLocks = new StripedArticleLocks(meterRegistry, true, 4);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        List.copyOf(TransactionSynchronizationManager.getResourceMap().keySet())
+                .forEach(TransactionSynchronizationManager::unbindResource);
+    }
+
+    @Test
+    void lockWhile_ShouldReleaseTheStripesOnceTheActionReturnsWithoutATransaction() throws Exception {
+        // Arrange
+        stripedArticleLocks.lockWhile(articleIds(), () -> { });
+
+        // Act
+        var other = CompletableFuture.runAsync(() -> stripedArticleLocks.lockWhile(articleIds(), () -> { }));
+
+        // Assert
+        other.get(5, TimeUnit.SECONDS);
+        assertEquals(2, meterRegistry.get("stock.striped_locks.wait").timer().count());
+    }
+
+    @Test
+    void lockWhile_ShouldHoldTheStripesUntilTheTransactionCompletes() throws Exception {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        stripedArticleLocks.lockWhile(articleIds(), () -> { });
+
+        // Act
+        var other = CompletableFuture.runAsync(() -> stripedArticleLocks.lockWhile(articleIds(), () -> { }));
+
+        // Assert
+        assertThrows(TimeoutException.class, () -> other.get(200, TimeUnit.MILLISECONDS));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        other.get(5, TimeUnit.SECONDS);
+    }
+
+    private static TreeSet<UUID> articleIds() {
+        var articleIds = new TreeSet<UUID>(UuidOrder.DATABASE);
+        articleIds.add(ARTICLE_ID);
+        return articleIds;
+    }
+}
@@ -0,0 +1,137 @@
+package com.inventory.inventorySystem.services;
+
+import com.inventory.inventorySystem.exceptions.StockExhaustedException;
+import com.inventory.inventorySystem.model.Article;
+import com.inventory.inventorySystem.repository.ArticleRepository;
+import com.inventory.inventorySystem.service.WriteBehindStockCounters;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WriteBehindStockCountersTest {
+
+    private static final UUID ARTICLE_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    private Path journalDirectory;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void flush_ShouldRetryFailedDeltasWithoutANewReserve() {
+        // Arrange
+        WriteBehindStockCounters counters = startedCounters();
+        counters.reserve(ARTICLE_ID, 3);
+        doThrow(new QueryTimeoutException("database unavailable"))
+                .doAnswer(invocation -> runInTransaction(invocation.getArgument(0)))
+                .when(transactionTemplate).executeWithoutResult(any());
+
+        // Act
+        counters.flush();
+        counters.flush();
+
+        // Assert
+        verify(articleRepository, times(1)).applyStockDelta(ARTICLE_ID, 3);
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+    }
+
+    @Test
+    void start_ShouldReplayCommittedDeltasLeftByACrash() {
+        // Arrange
+        WriteBehindStockCounters crashed = startedCounters();
+        TransactionSynchronizationManager.initSynchronization();
+        crashed.reserve(ARTICLE_ID, 4);
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        doAnswer(invocation -> runInTransaction(invocation.getArgument(0)))
+                .when(transactionTemplate).executeWithoutResult(any());
+
+        // Act
+        startedCounters();
+
+        // Assert
+        verify(articleRepository).applyStockDelta(ARTICLE_ID, 4);
+    }
+
+    @Test
+    void reserve_ShouldNotJournalARolledBackSale() {
+        // Arrange
+        WriteBehindStockCounters crashed = startedCounters();
+        TransactionSynchronizationManager.initSynchronization();
+        crashed.reserve(ARTICLE_ID, 10);
+        assertThrows(StockExhaustedException.class, () -> crashed.reserve(ARTICLE_ID, 1));
+
+        // Act
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Assert
+        TransactionSynchronizationManager.initSynchronization();
+        assertDoesNotThrow(() -> crashed.reserve(ARTICLE_ID, 10));
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        doAnswer(invocation -> runInTransaction(invocation.getArgument(0)))
+                .when(transactionTemplate).executeWithoutResult(any());
+        startedCounters();
+        verify(articleRepository, never()).applyStockDelta(any(), anyInt());
+    }
+
+    private WriteBehindStockCounters startedCounters() {
+        Article article = new Article();
+        article.setId(ARTICLE_ID);
+        article.setStock(10);
+        when(articleRepository.findAllById(any())).thenReturn(List.of(article));
+        var counters = new WriteBehindStockCounters(articleRepository, transactionTemplate, jdbcTemplate,
+                new SimpleMeterRegistry(), true, ARTICLE_ID.toString(), 4, journalDirectory.toString());
+        counters.start();
+        return counters;
+    }
+
+    private static Object runInTransaction(Consumer<?> callback) {
+        callback.accept(null);
+        return null;
+    }
+
+    private static void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
@@ -0,0 +1,62 @@
+package com.inventory.inventorySystem.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedTimingWheelTest {
+
+    @Test
+    void advance_ShouldExpireKeyAfterItsDelay() {
+        // Arrange
+        var wheel = new HashedTimingWheel<String>(8);
+        wheel.schedule("sale", 3);
+
+        // Act
+        List<String> first = wheel.advance();
+        List<String> second = wheel.advance();
+        List<String> third = wheel.advance();
+
+        // Assert
+        assertTrue(first.isEmpty());
+        assertTrue(second.isEmpty());
+        assertEquals(List.of("sale"), third);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_ShouldWaitExtraRoundsForDelaysLongerThanTheWheel() {
+        // Arrange
+        var wheel = new HashedTimingWheel<String>(4);
+        wheel.schedule("sale", 10);
+
+        // Act
+        int expiredAtTick = 0;
+        for (int tick = 1; tick <= 12 && expiredAtTick == 0; tick++) {
+            if (!wheel.advance().isEmpty()) {
+                expiredAtTick = tick;
+            }
+        }
+
+        // Assert
+        assertEquals(10, expiredAtTick);
+    }
+
+    @Test
+    void cancel_ShouldRemoveScheduledKey() {
+        // Arrange
+        var wheel = new HashedTimingWheel<String>(4);
+        wheel.schedule("sale", 1);
+
+        // Act
+        boolean cancelled = wheel.cancel("sale");
+
+        // Assert
+        assertTrue(cancelled);
+        assertTrue(wheel.advance().isEmpty());
+        assertEquals(0, wheel.size());
+    }
+}